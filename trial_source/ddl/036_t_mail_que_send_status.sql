@@ -0,0 +1,28 @@
+-- メール送信キューの配信状態管理（MailDispatchService）
+-- 適用前にアプリケーションを停止し、手動で一度だけ実行する。再実行しても結果は変わらない。
+
+BEGIN;
+
+ALTER TABLE t_mail_que ADD COLUMN IF NOT EXISTS send_status smallint;
+ALTER TABLE t_mail_que ADD COLUMN IF NOT EXISTS retry_count integer;
+ALTER TABLE t_mail_que ADD COLUMN IF NOT EXISTS next_send_date timestamp;
+ALTER TABLE t_mail_que ADD COLUMN IF NOT EXISTS send_date timestamp;
+
+-- 既存行は配信対象外（送信済）とし、適用時に過去のメールが再送されないようにする
+UPDATE t_mail_que SET send_status = 1, send_date = last_modified_date WHERE send_status IS NULL;
+UPDATE t_mail_que SET retry_count = 0 WHERE retry_count IS NULL;
+UPDATE t_mail_que SET next_send_date = first_create_date WHERE next_send_date IS NULL;
+
+-- 送信状態：0=未送信、1=送信済、2=送信失敗
+ALTER TABLE t_mail_que ALTER COLUMN send_status SET DEFAULT 0;
+ALTER TABLE t_mail_que ALTER COLUMN send_status SET NOT NULL;
+ALTER TABLE t_mail_que ALTER COLUMN retry_count SET DEFAULT 0;
+ALTER TABLE t_mail_que ALTER COLUMN retry_count SET NOT NULL;
+ALTER TABLE t_mail_que ALTER COLUMN next_send_date SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE t_mail_que ALTER COLUMN next_send_date SET NOT NULL;
+
+-- 配信対象の取得（send_status = 0 AND next_send_date <= now ORDER BY next_send_date）用
+CREATE INDEX IF NOT EXISTS idx_t_mail_que_send_status_next_send_date
+	ON t_mail_que (send_status, next_send_date);
+
+COMMIT;
@@ -0,0 +1,36 @@
+-- 今日の一問の回答をDBで一意にする（DailyQuestionService）
+-- 適用前にアプリケーションを停止し、手動で一度だけ実行する。再実行しても結果は変わらない。
+
+BEGIN;
+
+ALTER TABLE t_daily_question_result ADD COLUMN IF NOT EXISTS question_date date;
+
+-- 既存行の出題日は回答日時から求める（更新時刻より前は前日）
+-- 下記の '5 hours' は setting.properties の setting.dailyquestion.updatehour と同じ値にすること。
+-- 更新時刻を変更している環境では、実行前に合わせて書き換える。
+UPDATE t_daily_question_result
+	SET question_date = CAST(reply_date - INTERVAL '5 hours' AS date)
+	WHERE question_date IS NULL;
+
+ALTER TABLE t_daily_question_result ALTER COLUMN question_date SET NOT NULL;
+
+-- 同じ出題日の同じ問題への回答が重複している場合は、最初の回答を残して論理削除する
+UPDATE t_daily_question_result t1
+	SET delete_flg = 1, last_modified_date = CURRENT_TIMESTAMP
+	WHERE t1.delete_flg = 0
+		AND EXISTS (
+			SELECT 1 FROM t_daily_question_result t2
+			WHERE t2.question_id = t1.question_id
+				AND t2.question_date = t1.question_date
+				AND t2.lms_user_id = t1.lms_user_id
+				AND t2.delete_flg = 0
+				AND (t2.reply_date, t2.daily_question_result_id)
+					< (t1.reply_date, t1.daily_question_result_id)
+		);
+
+-- 回答は出題日毎に1人1回まで（回答数の集計と本人の回答の取得にも使用）
+CREATE UNIQUE INDEX IF NOT EXISTS uq_t_daily_question_result_question_date_user
+	ON t_daily_question_result (question_id, question_date, lms_user_id)
+	WHERE delete_flg = 0;
+
+COMMIT;
@@ -0,0 +1,26 @@
+-- エクスポートジョブの状態管理（ExportJobService）
+-- 複数台構成でジョブの状態確認・取消・ダウンロードをどのサーバーでも受け付けられるようにする。
+-- 手動で一度だけ実行する。再実行しても結果は変わらない。
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS t_export_job (
+	export_job_id varchar(36) NOT NULL,
+	lms_user_id integer NOT NULL,
+	-- 状態：wait=待機中、running=実行中、complete=完了、failed=失敗、canceled=取消
+	status varchar(10) NOT NULL,
+	file_name varchar(255),
+	submit_date timestamp NOT NULL,
+	finish_date timestamp,
+	last_modified_date timestamp NOT NULL,
+	CONSTRAINT pk_t_export_job PRIMARY KEY (export_job_id)
+);
+
+-- ユーザー毎の実行中ジョブ数の確認用
+CREATE INDEX IF NOT EXISTS idx_t_export_job_lms_user_id_status
+	ON t_export_job (lms_user_id, status);
+-- 期限切れジョブの削除用
+CREATE INDEX IF NOT EXISTS idx_t_export_job_status_last_modified_date
+	ON t_export_job (status, last_modified_date);
+
+COMMIT;
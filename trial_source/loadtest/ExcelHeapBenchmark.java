@@ -0,0 +1,125 @@
+import java.util.Arrays;
+import java.util.Date;
+
+import jp.co.sss.lms.util.ExcelUtil;
+
+/**
+ * ExcelUtilのヒープ使用量の比較<br>
+ * 週報テンプレートにフィードバックコメントを書き込み、書き込み後に保持しているヒープを
+ * 通常モードとストリーミングモードで比較する。GCの状態に左右されるため、単体試験には含めない。<br>
+ * <br>
+ * 実行方法（JDK 21、mvn compileでtarget/classesを作成しておく）：<br>
+ * 　mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt<br>
+ * 　java -cp target/classes:$(cat target/cp.txt) loadtest/ExcelHeapBenchmark.java [件数] [行数] [回数]<br>
+ * 例：java -cp target/classes:$(cat target/cp.txt) loadtest/ExcelHeapBenchmark.java 500 100 5<br>
+ * 1回目は暖機として集計しない。
+ *
+ * @author 東京ITスクール
+ */
+public class ExcelHeapBenchmark {
+
+	/** 週報テンプレート */
+	private static final String TEMPLATE = "static/template/週報_テンプレート.xlsx";
+	/** フィードバックコメントのシート */
+	private static final String FB_SHEET = "フィードバックコメント";
+
+	/**
+	 * 実行
+	 *
+	 * @param args フィードバックコメント件数、メモリ上に保持する行数、回数
+	 */
+	public static void main(String[] args) {
+		int fbCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int rowWindow = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		long[] inMemory = new long[rounds];
+		long[] streaming = new long[rounds];
+		for (int i = 0; i <= rounds; i++) {
+			long inMemoryHeap = measure(fbCount, 0);
+			long streamingHeap = measure(fbCount, rowWindow);
+			if (i > 0) {
+				inMemory[i - 1] = inMemoryHeap;
+				streaming[i - 1] = streamingHeap;
+			}
+		}
+
+		System.out.println(String.format("フィードバックコメント=%,d件(%,d行) 回数=%d", fbCount, fbCount * 2,
+				rounds));
+		System.out.println(String.format("通常モード 中央値=%,d KB", median(inMemory) / 1024));
+		System.out.println(String.format("ストリーミングモード(%d行) 中央値=%,d KB", rowWindow,
+				median(streaming) / 1024));
+	}
+
+	/**
+	 * 書き込み後に保持しているヒープの計測
+	 *
+	 * @param fbCount   フィードバックコメント件数
+	 * @param rowWindow メモリ上に保持する行数（0の場合は通常モード）
+	 * @return ヒープ使用量の増分
+	 */
+	private static long measure(int fbCount, int rowWindow) {
+		long base = usedHeap();
+		ExcelUtil excelUtil = rowWindow > 0
+				? new ExcelUtil(new ExcelUtil(TEMPLATE).getWb(), rowWindow)
+				: new ExcelUtil(new ExcelUtil(TEMPLATE).getWb());
+		try {
+			writeFeedback(excelUtil, fbCount);
+			return usedHeap() - base;
+		} finally {
+			excelUtil.dispose();
+		}
+	}
+
+	/**
+	 * フィードバックコメントの書き込み（ReportServiceと同じ順序）
+	 *
+	 * @param excelUtil
+	 * @param fbCount
+	 */
+	private static void writeFeedback(ExcelUtil excelUtil, int fbCount) {
+		ExcelUtil.SheetWriter fbWriter = excelUtil.getSheetWriter(FB_SHEET);
+		for (int i = 1; i < fbCount; i++) {
+			excelUtil.sheetCopy(FB_SHEET, 6, 8, i);
+			setFeedback(fbWriter, i);
+		}
+		setFeedback(fbWriter, 0);
+	}
+
+	/**
+	 * フィードバックコメント欄の設定
+	 *
+	 * @param fbWriter
+	 * @param index
+	 */
+	private static void setFeedback(ExcelUtil.SheetWriter fbWriter, int index) {
+		fbWriter.row(6 + (index * 2)).setVal(0, "user" + index).setVal(17, new Date());
+		fbWriter.nextRow().setVal(10, "content" + index);
+	}
+
+	/**
+	 * GC後のヒープ使用量を取得
+	 *
+	 * @return ヒープ使用量
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * 中央値
+	 *
+	 * @param values
+	 * @return 中央値
+	 */
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+
+}
@@ -0,0 +1,160 @@
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 負荷試験<br>
+ * 同時接続数分のクライアントがそれぞれログインし、指定した画面を一定時間繰り返し要求して、
+ * スループットと応答時間を出力する。<br>
+ * <br>
+ * 実行方法（JDK 21、アプリケーションの起動とDBの接続が必要）：<br>
+ * 　java LoadTest.java [URL] [ログインID] [パスワード] [同時接続数] [秒数] [パス...]<br>
+ * 例：java LoadTest.java http://localhost:8080/lms student01 Passw0rdA 200 30 /dailyQuestion<br>
+ * <br>
+ * プラットフォームスレッドと仮想スレッドの比較は、アプリケーションを以下の2通りで起動してそれぞれ実行する。<br>
+ * 　java -jar lms.jar --spring.threads.virtual.enabled=false<br>
+ * 　java -jar lms.jar --spring.threads.virtual.enabled=true<br>
+ * 計測開始前の5秒間は暖機として集計しない。
+ *
+ * @author 東京ITスクール
+ */
+public class LoadTest {
+
+	/** 暖機時間（ミリ秒） */
+	private static final long WARMUP = 5000;
+
+	/**
+	 * 実行
+	 *
+	 * @param args URL、ログインID、パスワード、同時接続数、秒数、パス
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080/lms";
+		String loginId = args.length > 1 ? args[1] : "student01";
+		String password = args.length > 2 ? args[2] : "Passw0rdA";
+		int clients = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+		int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+		List<String> pathList = args.length > 5 ? Arrays.asList(args).subList(5, args.length)
+				: List.of("/dailyQuestion");
+
+		long start = System.currentTimeMillis() + WARMUP;
+		long end = start + seconds * 1000L;
+		List<Future<Result>> futureList = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				futureList.add(executor.submit(
+						() -> runClient(baseUrl, loginId, password, pathList, start, end)));
+			}
+		}
+
+		// 集計
+		Result total = new Result();
+		for (Future<Result> future : futureList) {
+			Result result = future.get();
+			total.error += result.error;
+			total.latencyList.addAll(result.latencyList);
+		}
+		long[] latency = total.latencyList.stream().mapToLong(Long::longValue).sorted().toArray();
+		System.out.println(String.format("URL=%s%s 同時接続数=%d 秒数=%d", baseUrl, pathList, clients,
+				seconds));
+		System.out.println(String.format("成功=%,d エラー=%,d スループット=%,.1f req/s", latency.length,
+				total.error, latency.length / (double) seconds));
+		if (latency.length > 0) {
+			System.out.println(String.format("応答時間(ms) 平均=%.1f 50%%=%.1f 95%%=%.1f 99%%=%.1f 最大=%.1f",
+					Arrays.stream(latency).average().orElse(0) / 1e6, percentile(latency, 50),
+					percentile(latency, 95), percentile(latency, 99),
+					latency[latency.length - 1] / 1e6));
+		}
+	}
+
+	/**
+	 * クライアント1台分の実行
+	 *
+	 * @param baseUrl
+	 * @param loginId
+	 * @param password
+	 * @param pathList
+	 * @param start 集計開始時刻
+	 * @param end 終了時刻
+	 * @return 実行結果
+	 * @throws Exception
+	 */
+	private static Result runClient(String baseUrl, String loginId, String password,
+			List<String> pathList, long start, long end) throws Exception {
+		Result result = new Result();
+		HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager())
+				.followRedirects(HttpClient.Redirect.NEVER).connectTimeout(Duration.ofSeconds(10))
+				.build();
+
+		// ログイン（成功時のみリダイレクトする）
+		String form = "loginId=" + URLEncoder.encode(loginId, StandardCharsets.UTF_8) + "&password="
+				+ URLEncoder.encode(password, StandardCharsets.UTF_8);
+		HttpResponse<Void> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+				HttpResponse.BodyHandlers.discarding());
+		if (login.statusCode() != 302) {
+			throw new IllegalStateException("ログインに失敗しました。status=" + login.statusCode());
+		}
+
+		for (int i = 0; System.currentTimeMillis() < end; i++) {
+			HttpRequest request = HttpRequest
+					.newBuilder(URI.create(baseUrl + pathList.get(i % pathList.size())))
+					.timeout(Duration.ofSeconds(30)).GET().build();
+			long begin = System.nanoTime();
+			boolean ok;
+			try {
+				ok = client.send(request, HttpResponse.BodyHandlers.discarding())
+						.statusCode() == 200;
+			} catch (Exception e) {
+				ok = false;
+			}
+			long latency = System.nanoTime() - begin;
+			if (System.currentTimeMillis() < start) {
+				continue;
+			}
+			if (ok) {
+				result.latencyList.add(latency);
+			} else {
+				result.error++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * パーセンタイル値（ミリ秒）の取得
+	 *
+	 * @param sorted 昇順の応答時間（ナノ秒）
+	 * @param percent
+	 * @return パーセンタイル値
+	 */
+	private static double percentile(long[] sorted, int percent) {
+		int index = (int) Math.ceil(sorted.length * percent / 100.0) - 1;
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+
+	/**
+	 * 実行結果
+	 */
+	private static class Result {
+
+		/** 成功した要求の応答時間（ナノ秒） */
+		private final List<Long> latencyList = new ArrayList<>();
+		/** エラー件数 */
+		private long error;
+	}
+
+}
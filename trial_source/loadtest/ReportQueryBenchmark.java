@@ -0,0 +1,202 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * 日報ダウンロードの取得クエリの比較<br>
+ * 変更前の1本の結合クエリ（提出内容・理解度・フィードバックを全て結合）と、
+ * 変更後の提出者・提出内容・理解度・フィードバックを個別に取得するクエリについて、
+ * 指定した日報提出IDでの取得行数と応答時間を出力する。
+ * 変更後の日報テンプレート（m_daily_report、m_daily_report_detail）はアプリケーションで保持するため含めない。<br>
+ * <br>
+ * 実行方法（JDK 21、DBの接続とPostgreSQLのJDBCドライバが必要）：<br>
+ * 　java -cp postgresql.jar loadtest/ReportQueryBenchmark.java [JDBC URL] [ユーザー] [パスワード] [日報提出ID] [日報ID] [回数]<br>
+ * 例：java -cp postgresql.jar loadtest/ReportQueryBenchmark.java jdbc:postgresql://localhost:5432/tisdb tisuser systemsss 1 1 200<br>
+ * フィードバックや理解度の多い提出を指定すると差が分かりやすい。計測前に同じ回数の暖機を行う。
+ *
+ * @author 東京ITスクール
+ */
+public class ReportQueryBenchmark {
+
+	/** 削除フラグ（未削除） */
+	private static final short DELETE_FLG_FALSE = 0;
+
+	/** 変更前：日報ダウンロードの取得（TDailyReportSubmitMapper.getDailyReportDownloadDto） */
+	private static final String OLD_DOWNLOAD = """
+			SELECT t1.daily_report_submit_id, t1.daily_report_id, t2.file_name, t2.sheet_name,
+				t4.company_name, t2.row_company, t2.clm_company, t6.user_name, t2.row_user, t2.clm_user,
+				t1.date, t2.row_date, t2.clm_date, t2.row_intel_fld, t2.clm_intel_fld, t2.row_intel,
+				t2.clm_intel, t7.field_num, t7.row, t7.clm, t8.content, t9.intelligibility_id,
+				t9.field_name, t9.field_value, t10.daily_report_fb_id, t12.user_name AS fb_user_name,
+				t10.content AS fb_content, t10.first_create_date
+			FROM t_daily_report_submit t1
+				LEFT OUTER JOIN m_daily_report t2 ON t2.daily_report_id = t1.daily_report_id
+				LEFT OUTER JOIN t_user_company t3 ON t3.lms_user_id = t1.lms_user_id
+				LEFT OUTER JOIN m_company t4 ON t4.company_id = t3.company_id
+				LEFT OUTER JOIN m_lms_user t5 ON t5.lms_user_id = t1.lms_user_id
+				LEFT OUTER JOIN m_user t6 ON t6.user_id = t5.user_id
+				LEFT OUTER JOIN m_daily_report_detail t7 ON t7.daily_report_id = t1.daily_report_id
+				LEFT OUTER JOIN t_daily_report_submit_detail t8 ON t8.daily_report_submit_id = t1.daily_report_submit_id
+				LEFT OUTER JOIN t_intelligibility t9 ON t9.daily_report_submit_id = t1.daily_report_submit_id
+				LEFT OUTER JOIN t_daily_report_fb t10 ON t10.daily_report_submit_id = t1.daily_report_submit_id
+				LEFT OUTER JOIN m_lms_user t11 ON t11.lms_user_id = t10.lms_user_id
+				LEFT OUTER JOIN m_user t12 ON t12.user_id = t11.user_id
+			WHERE t1.daily_report_submit_id = ? AND t1.daily_report_id = ? AND t1.delete_flg = ?
+			""";
+
+	/** 変更後：提出者の取得（TDailyReportSubmitMapper.getDailyReportDownloadDto） */
+	private static final String NEW_DOWNLOAD = """
+			SELECT t1.daily_report_submit_id, t1.daily_report_id, t1.date, t3.company_name, t5.user_name
+			FROM t_daily_report_submit t1
+				LEFT OUTER JOIN t_user_company t2 ON t2.lms_user_id = t1.lms_user_id
+				LEFT OUTER JOIN m_company t3 ON t3.company_id = t2.company_id
+				LEFT OUTER JOIN m_lms_user t4 ON t4.lms_user_id = t1.lms_user_id
+				LEFT OUTER JOIN m_user t5 ON t5.user_id = t4.user_id
+			WHERE t1.daily_report_submit_id = ? AND t1.daily_report_id = ? AND t1.delete_flg = ?
+			""";
+
+	/** 変更後：提出内容の取得（TDailyReportSubmitDetailMapper.getDailyReportDetailDtoList） */
+	private static final String NEW_DETAIL = """
+			SELECT daily_report_submit_id, field_num, content
+			FROM t_daily_report_submit_detail
+			WHERE daily_report_submit_id = ? AND delete_flg = ?
+			ORDER BY field_num
+			""";
+
+	/** 変更後：理解度の取得（TIntelligibilityMapper.getIntelligibilityDtoList） */
+	private static final String NEW_INTELLIGIBILITY = """
+			SELECT intelligibility_id, daily_report_submit_id, field_num, field_name, field_value
+			FROM t_intelligibility
+			WHERE daily_report_submit_id = ? AND delete_flg = ?
+			ORDER BY field_num
+			""";
+
+	/** 変更後：フィードバックの取得（TDailyReportFbMapper.getDailyReportFbDtoList） */
+	private static final String NEW_FB = """
+			SELECT t1.daily_report_fb_id, t1.lms_user_id, t3.user_name, t1.content,
+				t1.first_create_date, t1.first_create_date AS date
+			FROM t_daily_report_fb t1
+				LEFT OUTER JOIN m_lms_user t2 ON t2.lms_user_id = t1.lms_user_id
+				LEFT OUTER JOIN m_user t3 ON t3.user_id = t2.user_id
+			WHERE t1.daily_report_submit_id = ? AND t1.delete_flg = ?
+			ORDER BY t1.daily_report_fb_id
+			""";
+
+	/**
+	 * 実行
+	 *
+	 * @param args JDBC URL、ユーザー、パスワード、日報提出ID、日報ID、回数
+	 * @throws SQLException
+	 */
+	public static void main(String[] args) throws SQLException {
+		String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/tisdb";
+		String user = args.length > 1 ? args[1] : "tisuser";
+		String password = args.length > 2 ? args[2] : "systemsss";
+		int dailyReportSubmitId = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+		int dailyReportId = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+		int rounds = args.length > 5 ? Integer.parseInt(args[5]) : 200;
+
+		try (Connection con = DriverManager.getConnection(url, user, password)) {
+			Query oldQuery = (c) -> select(c, OLD_DOWNLOAD, dailyReportSubmitId, dailyReportId,
+					DELETE_FLG_FALSE);
+			Query newQuery = (c) -> select(c, NEW_DOWNLOAD, dailyReportSubmitId, dailyReportId,
+					DELETE_FLG_FALSE)
+					+ select(c, NEW_DETAIL, dailyReportSubmitId, DELETE_FLG_FALSE)
+					+ select(c, NEW_INTELLIGIBILITY, dailyReportSubmitId, DELETE_FLG_FALSE)
+					+ select(c, NEW_FB, dailyReportSubmitId, DELETE_FLG_FALSE);
+
+			System.out.println(String.format("日報提出ID=%d 日報ID=%d 回数=%d", dailyReportSubmitId,
+					dailyReportId, rounds));
+			run("変更前(結合1本)", con, oldQuery, rounds);
+			run("変更後(個別4本)", con, newQuery, rounds);
+		}
+	}
+
+	/**
+	 * 暖機後に指定回数実行し、取得行数と応答時間を出力する
+	 *
+	 * @param name
+	 * @param con
+	 * @param query
+	 * @param rounds
+	 * @throws SQLException
+	 */
+	private static void run(String name, Connection con, Query query, int rounds)
+			throws SQLException {
+		for (int i = 0; i < rounds; i++) {
+			query.execute(con);
+		}
+		long[] latency = new long[rounds];
+		int rows = 0;
+		for (int i = 0; i < rounds; i++) {
+			long start = System.nanoTime();
+			rows = query.execute(con);
+			latency[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(latency);
+		System.out.println(String.format("%s 取得行数=%,d 応答時間(ms) 平均=%.2f 50%%=%.2f 95%%=%.2f 最大=%.2f",
+				name, rows, Arrays.stream(latency).average().orElse(0) / 1e6,
+				percentile(latency, 50), percentile(latency, 95),
+				latency[latency.length - 1] / 1e6));
+	}
+
+	/**
+	 * クエリを実行し、全行を読み込んで行数を返す
+	 *
+	 * @param con
+	 * @param sql
+	 * @param params
+	 * @return 取得行数
+	 * @throws SQLException
+	 */
+	private static int select(Connection con, String sql, Object... params) throws SQLException {
+		try (PreparedStatement ps = con.prepareStatement(sql)) {
+			for (int i = 0; i < params.length; i++) {
+				ps.setObject(i + 1, params[i]);
+			}
+			int rows = 0;
+			try (ResultSet rs = ps.executeQuery()) {
+				int columns = rs.getMetaData().getColumnCount();
+				while (rs.next()) {
+					for (int i = 1; i <= columns; i++) {
+						rs.getObject(i);
+					}
+					rows++;
+				}
+			}
+			return rows;
+		}
+	}
+
+	/**
+	 * パーセンタイル（ミリ秒）
+	 *
+	 * @param sorted
+	 * @param percent
+	 * @return 応答時間
+	 */
+	private static double percentile(long[] sorted, int percent) {
+		int index = (int) Math.ceil(sorted.length * percent / 100.0) - 1;
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+
+	/**
+	 * 計測対象のクエリ
+	 */
+	@FunctionalInterface
+	private interface Query {
+
+		/**
+		 * 実行
+		 *
+		 * @param con
+		 * @return 取得行数
+		 * @throws SQLException
+		 */
+		int execute(Connection con) throws SQLException;
+	}
+
+}
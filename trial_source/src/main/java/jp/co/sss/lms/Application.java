@@ -2,8 +2,12 @@ package jp.co.sss.lms;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@PropertySource("classpath:setting.properties")
 public class Application {
 
 	public static void main(String[] args) {
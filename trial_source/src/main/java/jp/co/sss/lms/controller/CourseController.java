@@ -1,6 +1,6 @@
 package jp.co.sss.lms.controller;
 
-import java.text.ParseException;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -30,21 +30,17 @@ public class CourseController {
 	 * 
 	 * @param model
 	 * @return コース詳細画面
-	 * @throws ParseException
 	 */
 	@RequestMapping(path = "/detail")
-	public String detail(Model model) throws ParseException {
+	public String detail(Model model) {
 
-		// パラメータチェック
-		String message = courseService.checkCourseId(loginUserDto.getCourseId());
-		if (!message.isEmpty()) {
+		// コース詳細関連情報の取得（存在しない場合はエラー）
+		Optional<CourseServiceCourseDto> courseServiceCourseDto = courseService
+				.getCourseDetail(loginUserDto.getCourseId());
+		if (courseServiceCourseDto.isEmpty()) {
 			return "illegal";
 		}
-
-		// コース詳細関連情報の取得
-		CourseServiceCourseDto courseServiceCourseDto = courseService
-				.getCourseDetail(loginUserDto.getCourseId());
-		model.addAttribute("courseServiceCourseDto", courseServiceCourseDto);
+		model.addAttribute("courseServiceCourseDto", courseServiceCourseDto.get());
 
 		return "course/detail";
 	}
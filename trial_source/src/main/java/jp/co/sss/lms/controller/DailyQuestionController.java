@@ -0,0 +1,72 @@
+package jp.co.sss.lms.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import jp.co.sss.lms.dto.DailyQuestionDto;
+import jp.co.sss.lms.dto.DailyQuestionResultDto;
+import jp.co.sss.lms.service.DailyQuestionService;
+import net.arnx.jsonic.JSON;
+
+/**
+ * 今日の一問コントローラー
+ * 
+ * @author 東京ITスクール
+ */
+@Controller
+@RequestMapping("/dailyQuestion")
+public class DailyQuestionController {
+
+	@Autowired
+	private DailyQuestionService dailyQuestionService;
+
+	/**
+	 * 今日の一問取得
+	 * 
+	 * @return 今日の一問
+	 */
+	@RequestMapping(path = "")
+	@ResponseBody
+	public String index() {
+
+		// 今日の一問を取得
+		DailyQuestionDto dailyQuestionDto = dailyQuestionService.getDailyQuestionDto();
+		// JSON形式で返す
+		return JSON.encode(dailyQuestionDto);
+	}
+
+	/**
+	 * 今日の一問 回答
+	 * 
+	 * @param reply
+	 * @return 回答状況
+	 */
+	@RequestMapping(path = "/reply", method = RequestMethod.POST)
+	@ResponseBody
+	public String reply(Short reply) {
+
+		// 回答を登録
+		DailyQuestionResultDto dailyQuestionResultDto = dailyQuestionService.reply(reply);
+		// JSON形式で返す
+		return JSON.encode(dailyQuestionResultDto);
+	}
+
+	/**
+	 * 今日の一問 回答状況取得
+	 * 
+	 * @return 回答状況
+	 */
+	@RequestMapping(path = "/result")
+	@ResponseBody
+	public String result() {
+
+		// 回答状況を取得
+		DailyQuestionResultDto dailyQuestionResultDto = dailyQuestionService.getResult();
+		// JSON形式で返す
+		return JSON.encode(dailyQuestionResultDto);
+	}
+
+}
@@ -1,5 +1,6 @@
 package jp.co.sss.lms.controller;
 
+import java.io.IOException;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +9,9 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jp.co.sss.lms.dto.ExamDetailDto;
 import jp.co.sss.lms.dto.ExamResultDetailDto;
 import jp.co.sss.lms.dto.LoginUserDto;
@@ -133,4 +136,21 @@ public class ExamController {
 		return "exam/result";
 	}
 
+	/**
+	 * 試験結果一覧画面 『ダウンロード』ボタン押下
+	 * 
+	 * @param courseId
+	 * @param format
+	 * @param response
+	 * @throws IOException
+	 */
+	@RequestMapping(path = "/resultList/download", method = RequestMethod.POST)
+	@ResponseBody
+	public void downloadResultList(Integer courseId, String format, HttpServletResponse response)
+			throws IOException {
+
+		// 試験結果一覧のダウンロード
+		examService.downloadResultList(courseId, format, response);
+	}
+
 }
@@ -0,0 +1,138 @@
+package jp.co.sss.lms.controller;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jp.co.sss.lms.dto.ExportJobDto;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.dto.WorkbookDto;
+import jp.co.sss.lms.form.DailyReportDownloadForm;
+import jp.co.sss.lms.service.ExportJobService;
+import jp.co.sss.lms.service.MeetingService;
+import jp.co.sss.lms.service.ReportService;
+import net.arnx.jsonic.JSON;
+
+/**
+ * エクスポートジョブコントローラー
+ * 
+ * @author 東京ITスクール
+ */
+@Controller
+@RequestMapping("/exportJob")
+public class ExportJobController {
+
+	@Autowired
+	private ExportJobService exportJobService;
+	@Autowired
+	private ReportService reportService;
+	@Autowired
+	private MeetingService meetingService;
+	@Autowired
+	private LoginUserDto loginUserDto;
+
+	/**
+	 * レポート一括ダウンロードの受付
+	 * 
+	 * @param dailyReportDownloadForm
+	 * @return ジョブ状態
+	 */
+	@RequestMapping(path = "/report", method = RequestMethod.POST)
+	@ResponseBody
+	public String report(DailyReportDownloadForm dailyReportDownloadForm) {
+
+		String[] dailyReportIdList = dailyReportDownloadForm.getDailyReportIdList();
+		String[] dailyReportSubmitIdList = dailyReportDownloadForm.getDailyReportSubmitIdList();
+		ExportJobDto exportJobDto = exportJobService.submit(loginUserDto.getLmsUserId(), out -> {
+			reportService.writeList(dailyReportIdList, dailyReportSubmitIdList, out);
+			return "レポート" + new Date().getTime() + ".zip";
+		});
+		return JSON.encode(exportJobDto);
+	}
+
+	/**
+	 * 面談記録ダウンロードの受付
+	 * 
+	 * @param meetingId
+	 * @return ジョブ状態
+	 */
+	@RequestMapping(path = "/meeting", method = RequestMethod.POST)
+	@ResponseBody
+	public String meeting(Integer meetingId) {
+
+		ExportJobDto exportJobDto = exportJobService.submit(loginUserDto.getLmsUserId(), out -> {
+			WorkbookDto workbookDto = meetingService.getWorkbookDto(meetingId);
+			workbookDto.getWb().write(out);
+			return workbookDto.getWbName();
+		});
+		return JSON.encode(exportJobDto);
+	}
+
+	/**
+	 * コースの面談記録一括ダウンロードの受付
+	 * 
+	 * @param courseId
+	 * @return ジョブ状態
+	 */
+	@RequestMapping(path = "/meetingList", method = RequestMethod.POST)
+	@ResponseBody
+	public String meetingList(Integer courseId) {
+
+		// ジョブはリクエスト外で実行されるため、ログイン情報は受付時に取得しておく
+		Integer accountId = loginUserDto.getAccountId();
+		ExportJobDto exportJobDto = exportJobService.submit(loginUserDto.getLmsUserId(), out -> {
+			meetingService.writeCourseMeetingFile(courseId, accountId, out);
+			return "面談記録" + new Date().getTime() + ".zip";
+		});
+		return JSON.encode(exportJobDto);
+	}
+
+	/**
+	 * ジョブ状態の取得
+	 * 
+	 * @param jobId
+	 * @return ジョブ状態
+	 */
+	@RequestMapping(path = "/status")
+	@ResponseBody
+	public String status(String jobId) {
+
+		ExportJobDto exportJobDto = exportJobService.getStatus(jobId, loginUserDto.getLmsUserId());
+		return JSON.encode(exportJobDto);
+	}
+
+	/**
+	 * ジョブの取消
+	 * 
+	 * @param jobId
+	 * @return ジョブ状態
+	 */
+	@RequestMapping(path = "/cancel", method = RequestMethod.POST)
+	@ResponseBody
+	public String cancel(String jobId) {
+
+		ExportJobDto exportJobDto = exportJobService.cancel(jobId, loginUserDto.getLmsUserId());
+		return JSON.encode(exportJobDto);
+	}
+
+	/**
+	 * 作成済みファイルのダウンロード
+	 * 
+	 * @param jobId
+	 * @param response
+	 * @throws IOException
+	 */
+	@RequestMapping(path = "/download", method = RequestMethod.POST)
+	@ResponseBody
+	public void download(String jobId, HttpServletResponse response) throws IOException {
+
+		exportJobService.download(jobId, loginUserDto.getLmsUserId(), response);
+	}
+
+}
@@ -1,18 +1,14 @@
 package jp.co.sss.lms.controller;
 
-import java.io.IOException;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseBody;
-
-import com.fasterxml.jackson.core.JsonParseException;
 
-import jakarta.servlet.http.HttpSession;
-import jp.co.sss.lms.dto.InfoDto;
 import jp.co.sss.lms.service.InfoService;
-import net.arnx.jsonic.JSON;
+import jp.co.sss.lms.service.InfoService.CachedInfo;
 
 /**
  * お知らせコントローラー
@@ -25,26 +21,27 @@ public class InfoController {
 
 	@Autowired
 	private InfoService infoService;
-	@Autowired
-	private HttpSession session;
 
 	/**
-	 * お知らせ情報取得
+	 * お知らせ情報取得<br>
+	 * ETag・最終更新日時が一致する場合は304を返す。
 	 * 
 	 * @return お知らせ情報
-	 * @throws JsonParseException
-	 * @throws IOException
 	 */
 	@RequestMapping(path = "")
-	@ResponseBody
-	public String index() throws JsonParseException, IOException {
+	public ResponseEntity<byte[]> index() {
 
 		// お知らせ情報を取得
-		InfoDto infoDto = infoService.getInfo();
-		// セッションに格納
-		session.setAttribute("infoDto", infoDto);
-		// JSON形式で返す
-		return JSON.encode(infoDto);
+		CachedInfo cachedInfo = infoService.getCachedInfo();
+		// JSON形式で返す（毎回再検証させる）
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.eTag(cachedInfo.getEtag());
+		if (cachedInfo.getLastModified() >= 0) {
+			builder.lastModified(cachedInfo.getLastModified());
+		}
+		return builder.body(cachedInfo.getJson());
 
 	}
 
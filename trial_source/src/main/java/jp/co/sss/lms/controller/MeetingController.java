@@ -33,4 +33,19 @@ public class MeetingController {
 		meetingService.downloadMeetingFile(meetingId, response);
 	}
 
+	/**
+	 * コース詳細画面 『面談記録一括ダウンロード』ボタン押下
+	 * 
+	 * @param courseId
+	 * @param response
+	 * @throws IOException
+	 */
+	@RequestMapping(path = "/downloadList", method = RequestMethod.POST)
+	@ResponseBody
+	public void downloadList(Integer courseId, HttpServletResponse response) throws IOException {
+
+		// コースの面談記録を一括ダウンロード
+		meetingService.downloadCourseMeetingFile(courseId, response);
+	}
+
 }
@@ -19,8 +19,9 @@ import jp.co.sss.lms.form.MailAddressForm;
 import jp.co.sss.lms.form.ResetPasswordGroup;
 import jp.co.sss.lms.service.LoginService;
 import jp.co.sss.lms.service.PasswordService;
+import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.LoginUserUtil;
-import jp.co.sss.lms.util.MessageUtil;
+import jp.co.sss.lms.util.SettingProperties;
 
 /**
  * パスワードコントローラー
@@ -38,7 +39,7 @@ public class PasswordController {
 	@Autowired
 	private LoginUserUtil loginUserUtil;
 	@Autowired
-	private MessageUtil messageUtil;
+	private SettingProperties settingProperties;
 
 	/**
 	 * パスワード変更画面 初期表示
@@ -86,8 +87,7 @@ public class PasswordController {
 	public String index(@ModelAttribute MailAddressForm mailAddressForm, Model model) {
 
 		// 設定ファイルのメール送信フラグが0の場合、メッセージ表示処理を追加
-		boolean sendFlg = messageUtil.getMessage("setting.mail.send.flg").equals("0") ? true
-				: false;
+		boolean sendFlg = settingProperties.getMail().getSend().getFlg() == Constants.DB_FLG_FALSE;
 		model.addAttribute("sendFlg", sendFlg);
 
 		return "password/resetPassword";
@@ -111,13 +111,12 @@ public class PasswordController {
 		passwordService.registTemporaryPassStorage(mailAddressForm);
 
 		// パスワード再設定メール送信
-		String sendFlg = messageUtil.getMessage("setting.mail.send.flg");
-		if (!sendFlg.equals("0")) {
+		if (settingProperties.getMail().getSend().getFlg() != Constants.DB_FLG_FALSE) {
 			passwordService.sendPasswordResetMail(request, mailAddressForm);
 		}
 
 		model.addAttribute("mailAddress", mailAddressForm.getMailAddress());
-		model.addAttribute("timeLimit", messageUtil.getMessage("setting.timelimit.hour"));
+		model.addAttribute("timeLimit", settingProperties.getTimelimit().getHour());
 
 		return "password/complete";
 	}
@@ -137,8 +136,8 @@ public class PasswordController {
 		// アクセス妥当性確認
 		Integer userId = passwordService.checkAccessValidity(key);
 		if (userId == null) {
-			model.addAttribute("timeLimit", messageUtil.getMessage("setting.timelimit.hour"));
-			model.addAttribute("tismail", messageUtil.getMessage("setting.tismail"));
+			model.addAttribute("timeLimit", settingProperties.getTimelimit().getHour());
+			model.addAttribute("tismail", settingProperties.getTismail());
 			return "password/error";
 		}
 
@@ -90,4 +90,21 @@ public class ReportController {
 				dailyReportDownloadForm.getDailyReportSubmitId(), response);
 	}
 
+	/**
+	 * レポート一覧画面 『一括ダウンロード』ボタン押下
+	 * 
+	 * @param dailyReportDownloadForm
+	 * @param response
+	 * @throws IOException
+	 */
+	@RequestMapping(path = "/downloadList", method = RequestMethod.POST)
+	@ResponseBody
+	public void downloadList(DailyReportDownloadForm dailyReportDownloadForm,
+			HttpServletResponse response) throws IOException {
+
+		// レポート一括ダウンロード
+		reportService.downloadList(dailyReportDownloadForm.getDailyReportIdList(),
+				dailyReportDownloadForm.getDailyReportSubmitIdList(), response);
+	}
+
 }
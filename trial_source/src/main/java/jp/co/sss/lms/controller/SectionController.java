@@ -1,7 +1,5 @@
 package jp.co.sss.lms.controller;
 
-import java.text.ParseException;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ModelAttribute;
@@ -28,19 +26,14 @@ public class SectionController {
 	 * @param sectionId セクションID
 	 * @param model     モデル
 	 * @return セクション詳細画面
-	 * @throws ParseException
 	 */
 	@RequestMapping("/detail")
-	public String detail(@ModelAttribute SectionDetailForm sectionDetailForm)
-			throws ParseException {
+	public String detail(@ModelAttribute SectionDetailForm sectionDetailForm) {
 
-		// パラメータチェック
-		String message = sectionService.checkSectionId(sectionDetailForm.getSectionId());
-		if (!message.isEmpty()) {
+		// セクション詳細情報の取得（存在しない場合はエラー）
+		if (sectionService.getSectionDetail(sectionDetailForm).isEmpty()) {
 			return "illegal";
 		}
-		// セクション詳細情報の取得
-		sectionService.getSectionDetail(sectionDetailForm);
 
 		return "section/detail";
 	}
@@ -2,20 +2,21 @@ package jp.co.sss.lms.dto;
 
 import java.util.List;
 
-import lombok.Data;
-
 /**
- * コース情報サービス カテゴリDTO
+ * コース情報サービス カテゴリDTO<br>
+ * 受講生間で共有するため変更不可とする。
  * 
  * @author 東京ITスクール
  *
+ * @param categoryName カテゴリ名
+ * @param courseServiceSectionDtoList コース情報サービス セクションDTOリスト
  */
-@Data
-public class CourseServiceCategoryDto {
+public record CourseServiceCategoryDto(String categoryName,
+		List<CourseServiceSectionDto> courseServiceSectionDtoList) {
 
-	/** カテゴリ名 */
-	private String categoryName;
-	/** コース情報サービス セクションDTOリスト */
-	private List<CourseServiceSectionDto> courseServiceSectionDtoList;
+	public CourseServiceCategoryDto {
+		courseServiceSectionDtoList = courseServiceSectionDtoList == null ? List.of()
+				: List.copyOf(courseServiceSectionDtoList);
+	}
 
 }
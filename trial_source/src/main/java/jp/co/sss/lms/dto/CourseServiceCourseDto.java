@@ -3,26 +3,36 @@ package jp.co.sss.lms.dto;
 import java.util.Date;
 import java.util.List;
 
-import lombok.Data;
-
 /**
- * コース情報サービス コースDTO
+ * コース情報サービス コースDTO<br>
+ * 受講生間で共有するため変更不可とする。
  * 
  * @author 東京ITスクール
  *
+ * @param courseId コースID
+ * @param courseName コース名
+ * @param openTime 開講日
+ * @param closeTime 閉講日
+ * @param courseServiceCategoryDtoList コース情報サービス カテゴリDTOリスト
  */
-@Data
-public class CourseServiceCourseDto {
+public record CourseServiceCourseDto(Integer courseId, String courseName, Date openTime,
+		Date closeTime, List<CourseServiceCategoryDto> courseServiceCategoryDtoList) {
+
+	public CourseServiceCourseDto {
+		openTime = openTime == null ? null : new Date(openTime.getTime());
+		closeTime = closeTime == null ? null : new Date(closeTime.getTime());
+		courseServiceCategoryDtoList = courseServiceCategoryDtoList == null ? List.of()
+				: List.copyOf(courseServiceCategoryDtoList);
+	}
+
+	@Override
+	public Date openTime() {
+		return openTime == null ? null : new Date(openTime.getTime());
+	}
 
-	/** コースID */
-	private Integer courseId;
-	/** コース名 */
-	private String courseName;
-	/** 開講日 */
-	private Date openTime;
-	/** 閉講日 */
-	private Date closeTime;
-	/** コース情報サービス カテゴリDTOリスト */
-	private List<CourseServiceCategoryDto> courseServiceCategoryDtoList;
+	@Override
+	public Date closeTime() {
+		return closeTime == null ? null : new Date(closeTime.getTime());
+	}
 
 }
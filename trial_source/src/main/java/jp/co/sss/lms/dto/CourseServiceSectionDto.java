@@ -2,22 +2,25 @@ package jp.co.sss.lms.dto;
 
 import java.util.Date;
 
-import lombok.Data;
-
 /**
- * コース情報サービス セクションDTO
+ * コース情報サービス セクションDTO<br>
+ * 受講生間で共有するため変更不可とする。
  * 
  * @author 東京ITスクール
  *
+ * @param sectionId セクションID
+ * @param sectionName セクション名
+ * @param date 日付
  */
-@Data
-public class CourseServiceSectionDto {
+public record CourseServiceSectionDto(Integer sectionId, String sectionName, Date date) {
+
+	public CourseServiceSectionDto {
+		date = date == null ? null : new Date(date.getTime());
+	}
 
-	/** セクションID */
-	private Integer sectionId;
-	/** セクション名 */
-	private String sectionName;
-	/** 日付 */
-	private Date date;
+	@Override
+	public Date date() {
+		return date == null ? null : new Date(date.getTime());
+	}
 
 }
@@ -0,0 +1,32 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 今日の一問DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class DailyQuestionDto {
+
+	/** コースID */
+	private Integer courseId;
+	/** 出題日 */
+	private Date questionDate;
+	/** 問題ID */
+	private Integer questionId;
+	/** 問題 */
+	private String question;
+	/** 選択肢1 */
+	private String choice1;
+	/** 選択肢2 */
+	private String choice2;
+	/** 選択肢3 */
+	private String choice3;
+	/** 選択肢4 */
+	private String choice4;
+
+}
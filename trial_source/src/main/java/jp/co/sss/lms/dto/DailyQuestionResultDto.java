@@ -0,0 +1,22 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * 今日の一問 回答状況DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class DailyQuestionResultDto {
+
+	/** 問題ID */
+	private Integer questionId;
+	/** 自身の回答 */
+	private Short reply;
+	/** 選択肢毎の回答数 */
+	private long[] replyCountArray;
+	/** 回答総数 */
+	private long totalCount;
+
+}
@@ -0,0 +1,40 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 試験結果エクスポートDTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class ExamResultExportDto {
+
+	/** 試験結果ID */
+	private Integer examResultId;
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** ユーザー名 */
+	private String userName;
+	/** 試験名 */
+	private String examName;
+	/** 試験実施日付 */
+	private Date date;
+	/** 正答数 */
+	private Short score;
+	/** 所要時間 */
+	private Integer time;
+	/** 評点フラグ */
+	private Short markFlg;
+	/** 問題ID */
+	private Integer questionId;
+	/** 問題 */
+	private String question;
+	/** 回答 */
+	private Short reply;
+	/** 正答 */
+	private Short answerNum;
+
+}
@@ -0,0 +1,28 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * エクスポートジョブDTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class ExportJobDto {
+
+	/** ジョブID */
+	private String jobId;
+	/** 状態 */
+	private String status;
+	/** ファイル名 */
+	private String fileName;
+	/** 受付日時 */
+	private Date submitDate;
+	/** 終了日時 */
+	private Date finishDate;
+	/** メッセージ */
+	private String message;
+
+}
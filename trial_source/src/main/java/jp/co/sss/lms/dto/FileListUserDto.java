@@ -1,5 +1,7 @@
 package jp.co.sss.lms.dto;
 
+import java.io.Serializable;
+
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.annotation.SessionScope;
 
@@ -13,7 +15,10 @@ import lombok.Data;
 @Component
 @SessionScope
 @Data
-public class FileListUserDto {
+public class FileListUserDto implements Serializable {
+
+	/** シリアルバージョンUID */
+	private static final long serialVersionUID = 1L;
 
 	/** 共有ユーザーID */
 	private Integer fssUserId;
@@ -1,15 +1,25 @@
 package jp.co.sss.lms.dto;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.Date;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.annotation.SessionScope;
 
+import jp.co.sss.lms.entity.LoginUser;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
- * ログイン情報DTO
+ * ログイン情報DTO<br>
+ * セッションにはID・ロール・フラグのみを独自形式でシリアライズして保持し、
+ * ユーザー名等の表示用の情報はログインユーザーユーティリティの共有キャッシュから取得する。
  * 
  * @author 東京ITスクール
  */
@@ -19,7 +29,11 @@ import lombok.Data;
 public class LoginUserDto implements Serializable {
 
 	/** シリアルバージョンUID */
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
+	/** 既定のシリアライズ対象フィールド（全て独自形式で書き出す） */
+	private static final ObjectStreamField[] serialPersistentFields = {};
+	/** シリアライズ形式のバージョン */
+	private static final byte FORMAT_VERSION = 1;
 
 	/** 企業アカウントID */
 	private Integer accountId;
@@ -27,24 +41,16 @@ public class LoginUserDto implements Serializable {
 	private Integer userId;
 	/** LMSユーザーID */
 	private Integer lmsUserId;
-	/** ユーザー名 */
-	private String userName;
 	/** ロール */
 	private String role;
 	/** 企業ID */
 	private Integer companyId;
-	/** 企業名 */
-	private String companyName;
 	/** 会場ID */
 	private Integer placeId;
-	/** 会場名 */
-	private String placeName;
 	/** 会場非表示フラグ */
 	private Short hiddenFlg;
 	/** コースID */
 	private Integer courseId;
-	/** コース名 */
-	private String courseName;
 	/** セキュリティ同意フラグ */
 	private Short securityAgreeFlg;
 	/** パスワードNG回数 */
@@ -53,15 +59,168 @@ public class LoginUserDto implements Serializable {
 	private Date passwordChangeDate;
 	/** パスワードNG日付 */
 	private String passwordNgDate;
-	/** サポート表示 */
-	private Short supportAvailable;
-	/** メールアドレス */
-	private String mailAddress;
 	/** 途中退校フラグ */
 	private Integer leaveFlg;
 	/** 途中退校日 */
 	private Date leaveDate;
 	/** ファイル共有フラグ */
 	private Short fileShareFlg;
+	/** ログインユーザー（表示用、共有キャッシュの参照） */
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private transient LoginUser loginUser;
+
+	/**
+	 * ログインユーザーからの設定
+	 * 
+	 * @param loginUser
+	 */
+	public void copyFrom(LoginUser loginUser) {
+		this.accountId = loginUser.getAccountId();
+		this.userId = loginUser.getUserId();
+		this.lmsUserId = loginUser.getLmsUserId();
+		this.role = loginUser.getRole();
+		this.companyId = loginUser.getCompanyId();
+		this.placeId = loginUser.getPlaceId();
+		this.hiddenFlg = loginUser.getHiddenFlg();
+		this.courseId = loginUser.getCourseId();
+		this.securityAgreeFlg = loginUser.getSecurityAgreeFlg();
+		this.passwordChangeDate = loginUser.getPasswordChangeDate();
+		this.leaveFlg = loginUser.getLeaveFlg();
+		this.leaveDate = loginUser.getLeaveDate();
+		this.fileShareFlg = loginUser.getFileShareFlg();
+		this.loginUser = loginUser;
+	}
+
+	/** ユーザー名 */
+	public String getUserName() {
+		return loginUser != null ? loginUser.getUserName() : null;
+	}
+
+	/** 企業名 */
+	public String getCompanyName() {
+		return loginUser != null ? loginUser.getCompanyName() : null;
+	}
+
+	/** 会場名 */
+	public String getPlaceName() {
+		return loginUser != null ? loginUser.getPlaceName() : null;
+	}
+
+	/** コース名 */
+	public String getCourseName() {
+		return loginUser != null ? loginUser.getCourseName() : null;
+	}
+
+	/** サポート表示 */
+	public Short getSupportAvailable() {
+		return loginUser != null ? loginUser.getSupportAvailable() : null;
+	}
+
+	/** メールアドレス */
+	public String getMailAddress() {
+		return loginUser != null ? loginUser.getMailAddress() : null;
+	}
+
+	/**
+	 * シリアライズ（独自形式）
+	 * 
+	 * @param out
+	 * @throws IOException
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeByte(FORMAT_VERSION);
+		writeInteger(out, accountId);
+		writeInteger(out, userId);
+		writeInteger(out, lmsUserId);
+		writeString(out, role);
+		writeInteger(out, companyId);
+		writeInteger(out, placeId);
+		writeShort(out, hiddenFlg);
+		writeInteger(out, courseId);
+		writeShort(out, securityAgreeFlg);
+		writeInteger(out, passwordNgCount);
+		writeDate(out, passwordChangeDate);
+		writeString(out, passwordNgDate);
+		writeInteger(out, leaveFlg);
+		writeDate(out, leaveDate);
+		writeShort(out, fileShareFlg);
+	}
+
+	/**
+	 * デシリアライズ（独自形式）<br>
+	 * 表示用の情報は復元しない。
+	 * 
+	 * @param in
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		byte version = in.readByte();
+		if (version != FORMAT_VERSION) {
+			throw new InvalidObjectException("未対応の形式です。version=" + version);
+		}
+		accountId = readInteger(in);
+		userId = readInteger(in);
+		lmsUserId = readInteger(in);
+		role = readString(in);
+		companyId = readInteger(in);
+		placeId = readInteger(in);
+		hiddenFlg = readShort(in);
+		courseId = readInteger(in);
+		securityAgreeFlg = readShort(in);
+		passwordNgCount = readInteger(in);
+		passwordChangeDate = readDate(in);
+		passwordNgDate = readString(in);
+		leaveFlg = readInteger(in);
+		leaveDate = readDate(in);
+		fileShareFlg = readShort(in);
+	}
+
+	private static void writeInteger(ObjectOutputStream out, Integer value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeInt(value);
+		}
+	}
+
+	private static Integer readInteger(ObjectInputStream in) throws IOException {
+		return in.readBoolean() ? in.readInt() : null;
+	}
+
+	private static void writeShort(ObjectOutputStream out, Short value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeShort(value);
+		}
+	}
+
+	private static Short readShort(ObjectInputStream in) throws IOException {
+		return in.readBoolean() ? in.readShort() : null;
+	}
+
+	private static void writeDate(ObjectOutputStream out, Date value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeLong(value.getTime());
+		}
+	}
+
+	private static Date readDate(ObjectInputStream in) throws IOException {
+		return in.readBoolean() ? new Date(in.readLong()) : null;
+	}
+
+	private static void writeString(ObjectOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(ObjectInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
 
 }
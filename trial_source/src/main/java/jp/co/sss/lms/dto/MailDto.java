@@ -0,0 +1,24 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * メールDTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class MailDto {
+
+	/** メールアドレスTo */
+	private String mailAddressTo;
+	/** メールアドレスCC */
+	private String mailAddressCc;
+	/** メールアドレスBCC */
+	private String mailAddressBcc;
+	/** 件名 */
+	private String subject;
+	/** 本文 */
+	private String body;
+
+}
@@ -0,0 +1,32 @@
+package jp.co.sss.lms.entity;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * コース詳細エンティティ（コース・セクション・カテゴリの結合結果）
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class CourseDetail {
+
+	/** コースID */
+	private Integer courseId;
+	/** コース名 */
+	private String courseName;
+	/** 開講日 */
+	private Date openTime;
+	/** 閉講日 */
+	private Date closeTime;
+	/** カテゴリ名 */
+	private String categoryName;
+	/** セクションID */
+	private Integer sectionId;
+	/** セクション名 */
+	private String sectionName;
+	/** 日付 */
+	private Date date;
+
+}
@@ -16,6 +16,8 @@ public class TDailyQuestionResult {
 	private Integer dailyQuestionResultId;
 	/** 問題ID */
 	private Integer questionId;
+	/** 出題日 */
+	private Date questionDate;
 	/** LMSユーザーID */
 	private Integer lmsUserId;
 	/** 回答 */
@@ -0,0 +1,30 @@
+package jp.co.sss.lms.entity;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * エクスポートジョブテーブルエンティティ
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class TExportJob {
+
+	/** エクスポートジョブID */
+	private String exportJobId;
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** 状態 */
+	private String status;
+	/** ファイル名 */
+	private String fileName;
+	/** 受付日時 */
+	private Date submitDate;
+	/** 終了日時 */
+	private Date finishDate;
+	/** 最終更新日時 */
+	private Date lastModifiedDate;
+
+}
@@ -40,26 +40,21 @@ public class LoggingFilter implements Filter {
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
 		HttpServletRequest httpReq = ((HttpServletRequest) request);
-		String uri = httpReq.getRequestURI();
-		if (isStatic(uri)) {
+		if (WebConfig.isAsset(httpReq.getServletPath())) {
 			chain.doFilter(request, response);
 			return;
 		}
-		StringBuffer sb = new StringBuffer("\n[before]");
+		StringBuilder sb = new StringBuilder("\n[before]");
 		loggingUtil.appendLog(sb);
 		logger.info(sb.toString());
 
 		chain.doFilter(request, response);
 
-		sb = new StringBuffer("\n[after]");
+		sb = new StringBuilder("\n[after]");
 		loggingUtil.appendLog(sb);
 		logger.info(sb.toString());
 	}
 
-	private boolean isStatic(String uri) {
-		return uri.contains("/js/") || uri.contains("/css/") || uri.contains("/fonts/") || uri.contains("/img/");
-	}
-
 	@Override
 	public void destroy() {
 	}
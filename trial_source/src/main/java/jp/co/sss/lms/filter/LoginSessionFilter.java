@@ -68,17 +68,19 @@ public class LoginSessionFilter implements Filter {
 			throws IOException, ServletException {
 		HttpServletRequest httpReq = ((HttpServletRequest) request);
 		HttpServletResponse httpRes = (HttpServletResponse) response;
-		String uri = httpReq.getRequestURI();
-		if (isStatic(uri)) {
+		if (isStatic(httpReq.getServletPath())) {
 			chain.doFilter(request, response);
 			return;
 		}
+		String uri = httpReq.getRequestURI();
+		// セッション復元時は表示用のログインユーザー情報を共有キャッシュから補う
+		loginUserUtil.restoreLoginUser();
 		// ログインしていなくても遷移できるURIか判定
 		if (!isCheckDisp(uri, httpReq.getContextPath())) {
 			if (!loginUserUtil.isLogin()) {
 				// ログインしていない場合はログイン画面に遷移
 				String timeoutMessage = messageUtil.getMessage(Constants.PROP_KEY_SESSION_TIMEOUT);
-				StringBuffer sb = new StringBuffer(timeoutMessage);
+				StringBuilder sb = new StringBuilder(timeoutMessage);
 				loggingUtil.appendLog(sb);
 				logger.info(sb.toString());
 				session.setAttribute("sessionTimeout", timeoutMessage);
@@ -113,9 +115,9 @@ public class LoginSessionFilter implements Filter {
 	 * 
 	 * @return boolean
 	 */
-	private boolean isStatic(String uri) {
-		return uri.contains("/js/") || uri.contains("/css/") || uri.contains("/fonts/")
-				|| uri.contains("/img/") || uri.contains("/pdf/") || uri.contains("/mailTemplate/");
+	private boolean isStatic(String servletPath) {
+		return WebConfig.isAsset(servletPath) || servletPath.startsWith("/pdf/")
+				|| servletPath.startsWith("/mailTemplate/");
 	}
 
 	/**
@@ -211,6 +213,9 @@ public class LoginSessionFilter implements Filter {
 		studentAcessList.add("/lms/faq");
 		studentAcessList.add("/lms/info");
 		studentAcessList.add("/lms/info/json");
+		studentAcessList.add("/lms/dailyQuestion");
+		studentAcessList.add("/lms/dailyQuestion/reply");
+		studentAcessList.add("/lms/dailyQuestion/result");
 		studentAcessList.add("/lms/user/detail");
 		studentAcessList.add("/lms/password/changePassword");
 	}
@@ -228,6 +233,13 @@ public class LoginSessionFilter implements Filter {
 		teacherAcessList.add("/lms/meeting/regist");
 		teacherAcessList.add("/lms/meeting/delete");
 		teacherAcessList.add("/lms/meeting/download");
+		teacherAcessList.add("/lms/meeting/downloadList");
+		teacherAcessList.add("/lms/exportJob/report");
+		teacherAcessList.add("/lms/exportJob/meeting");
+		teacherAcessList.add("/lms/exportJob/meetingList");
+		teacherAcessList.add("/lms/exportJob/status");
+		teacherAcessList.add("/lms/exportJob/cancel");
+		teacherAcessList.add("/lms/exportJob/download");
 		teacherAcessList.add("/lms/user/list");
 		teacherAcessList.add("/lms/user/detail");
 		teacherAcessList.add("/lms/password/reissuePassword");
@@ -245,6 +257,7 @@ public class LoginSessionFilter implements Filter {
 		teacherAcessList.add("/lms/exam/resultDetail");
 		teacherAcessList.add("/lms/exam/resultList");
 		teacherAcessList.add("/lms/exam/deleteResultList");
+		teacherAcessList.add("/lms/exam/resultList/download");
 		teacherAcessList.add("/lms/attendance/list");
 		teacherAcessList.add("/lms/attendance/detail");
 		teacherAcessList.add("/lms/attendance/bulkRegist");
@@ -0,0 +1,186 @@
+package jp.co.sss.lms.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.stereotype.Component;
+
+/**
+ * セッション属性フィルター<br>
+ * セッションスコープのBean（LoginUserDto等）はリクエスト終了時に毎回セッションへ再設定されるため、
+ * 同じインスタンスで内容も変わっていない場合は再設定を行わず、セッションテーブルへの書き込みを抑止する。<br>
+ * セッションの取得後、リクエストスコープの生成前に適用するため、SessionRepositoryFilterの直後に配置する。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+@Profile("jdbcsession")
+@Order(SessionRepositoryFilter.DEFAULT_ORDER + 1)
+public class SessionAttributeFilter implements Filter {
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		chain.doFilter(new SessionAttributeRequest((HttpServletRequest) request), response);
+	}
+
+	/**
+	 * セッションを差し替えるリクエスト
+	 */
+	private static class SessionAttributeRequest extends HttpServletRequestWrapper {
+
+		private SessionAttributeSession session;
+
+		public SessionAttributeRequest(HttpServletRequest request) {
+			super(request);
+		}
+
+		@Override
+		public HttpSession getSession() {
+			return getSession(true);
+		}
+
+		@Override
+		public HttpSession getSession(boolean create) {
+			HttpSession delegate = super.getSession(create);
+			if (delegate == null) {
+				return null;
+			}
+			if (session == null || session.delegate != delegate) {
+				session = new SessionAttributeSession(delegate);
+			}
+			return session;
+		}
+	}
+
+	/**
+	 * 読み込み時の属性の内容を保持し、変更のない再設定を抑止するセッション
+	 */
+	private static class SessionAttributeSession implements HttpSession {
+
+		private final HttpSession delegate;
+
+		/** 属性名毎の読み込み時（または設定時）の直列化した内容 */
+		private final Map<String, byte[]> snapshotMap = new HashMap<>();
+
+		public SessionAttributeSession(HttpSession delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Object getAttribute(String name) {
+			Object value = delegate.getAttribute(name);
+			if (value != null && !snapshotMap.containsKey(name)) {
+				snapshotMap.put(name, serialize(value));
+			}
+			return value;
+		}
+
+		@Override
+		public void setAttribute(String name, Object value) {
+			if (value != null && value == delegate.getAttribute(name)) {
+				byte[] snapshot = snapshotMap.get(name);
+				if (snapshot != null && Arrays.equals(snapshot, serialize(value))) {
+					return;
+				}
+			}
+			delegate.setAttribute(name, value);
+			if (value == null) {
+				snapshotMap.remove(name);
+			} else {
+				snapshotMap.put(name, serialize(value));
+			}
+		}
+
+		@Override
+		public void removeAttribute(String name) {
+			delegate.removeAttribute(name);
+			snapshotMap.remove(name);
+		}
+
+		@Override
+		public long getCreationTime() {
+			return delegate.getCreationTime();
+		}
+
+		@Override
+		public String getId() {
+			return delegate.getId();
+		}
+
+		@Override
+		public long getLastAccessedTime() {
+			return delegate.getLastAccessedTime();
+		}
+
+		@Override
+		public ServletContext getServletContext() {
+			return delegate.getServletContext();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(int interval) {
+			delegate.setMaxInactiveInterval(interval);
+		}
+
+		@Override
+		public int getMaxInactiveInterval() {
+			return delegate.getMaxInactiveInterval();
+		}
+
+		@Override
+		public Enumeration<String> getAttributeNames() {
+			return delegate.getAttributeNames();
+		}
+
+		@Override
+		public void invalidate() {
+			delegate.invalidate();
+			snapshotMap.clear();
+		}
+
+		@Override
+		public boolean isNew() {
+			return delegate.isNew();
+		}
+
+		/**
+		 * 属性の直列化（直列化できない場合はnull）
+		 *
+		 * @param value
+		 * @return 直列化した内容
+		 */
+		private static byte[] serialize(Object value) {
+			if (!(value instanceof Serializable)) {
+				return null;
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+				oos.writeObject(value);
+			} catch (IOException e) {
+				return null;
+			}
+			return out.toByteArray();
+		}
+	}
+
+}
@@ -1,14 +1,40 @@
 package jp.co.sss.lms.filter;
 
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.http.CacheControl;
 import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+	/** コンテンツハッシュ付きURLで配信する静的リソースのパス */
+	static final String[] ASSET_PATHS = { "/css/", "/js/", "/fonts/", "/img/" };
+
+	/**
+	 * 静的リソースのパスか判定
+	 * 
+	 * @param servletPath
+	 * @return 静的リソースの場合true
+	 */
+	static boolean isAsset(String servletPath) {
+		for (String path : ASSET_PATHS) {
+			if (servletPath.startsWith(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public Validator getValidator() {
 		LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
@@ -22,4 +48,30 @@ public class WebConfig implements WebMvcConfigurer {
 		return validator;
 	}
 
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		// URLにファイル内容のハッシュを含めるため、内容が変わらない限りブラウザのキャッシュを使わせる
+		CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic()
+				.immutable();
+		for (String path : ASSET_PATHS) {
+			registry.addResourceHandler(path + "**")
+					.addResourceLocations("classpath:/static" + path)
+					.setCacheControl(cacheControl)
+					.resourceChain(true)
+					// 圧縮済ファイル（.br/.gz）があればそちらを返す
+					.addResolver(new EncodedResourceResolver())
+					.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+		}
+	}
+
+	/**
+	 * テンプレート内の静的リソースのURLをハッシュ付きURLに変換するフィルター
+	 * 
+	 * @return リソースURLエンコーディングフィルター
+	 */
+	@Bean
+	public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+		return new ResourceUrlEncodingFilter();
+	}
+
 }
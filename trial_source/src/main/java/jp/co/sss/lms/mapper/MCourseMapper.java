@@ -1,9 +1,12 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.Date;
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
-import jp.co.sss.lms.dto.CourseServiceCourseDto;
+import jp.co.sss.lms.entity.CourseDetail;
 
 /**
  * コースマスタマッパー
@@ -14,22 +17,34 @@ import jp.co.sss.lms.dto.CourseServiceCourseDto;
 public interface MCourseMapper {
 
 	/**
-	 * コース詳細取得
+	 * コース詳細取得（セクション毎、セクションがない場合はコースのみの1行）
 	 * 
 	 * @param courseId
-	 * @param lmsUserId
 	 * @param deleteFlg
-	 * @return コース情報サービス コースDTO
+	 * @return コース詳細エンティティリスト
 	 */
-	CourseServiceCourseDto getCourseDetail(@Param("courseId") Integer courseId,
+	List<CourseDetail> getCourseDetail(@Param("courseId") Integer courseId,
 			@Param("deleteFlg") Short deleteFlg);
 
 	/**
-	 * コース数取得
+	 * コース最終更新日時取得<br>
+	 * コースとそのセクションの最終更新日時のうち最も新しいもの。
 	 * 
 	 * @param courseId
-	 * @return コース数
+	 * @param deleteFlg
+	 * @return 最終更新日時（コースが存在しない場合null）
 	 */
-	Integer getCourseCount(Integer courseId);
+	Date getCourseLastModifiedDate(@Param("courseId") Integer courseId,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 開講中コースIDリスト取得
+	 * 
+	 * @param date
+	 * @param deleteFlg
+	 * @return コースIDリスト
+	 */
+	List<Integer> getOpenCourseIdList(@Param("date") Date date,
+			@Param("deleteFlg") Short deleteFlg);
 
 }
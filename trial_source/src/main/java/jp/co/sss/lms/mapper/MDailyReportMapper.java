@@ -0,0 +1,24 @@
+package jp.co.sss.lms.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import jp.co.sss.lms.dto.DailyReportDto;
+
+/**
+ * 日報マスタマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface MDailyReportMapper {
+
+	/**
+	 * レポートテンプレート取得（日報マスタ・日報詳細マスタ）
+	 * 
+	 * @param dailyReportId
+	 * @return レポートDTO（提出内容なし）
+	 */
+	DailyReportDto getDailyReportTemplate(@Param("dailyReportId") Integer dailyReportId);
+
+}
@@ -23,4 +23,13 @@ public interface MLmsUserMapper {
 	UserDetailDto getUserDetail(@Param("lmsUserId") Integer lmsUserId,
 			@Param("deleteFlg") Short deleteFlg);
 
+	/**
+	 * LMSユーザーの行ロック<br>
+	 * ユーザー単位の処理を複数のサーバー間で排他する場合に使用する。
+	 * 
+	 * @param lmsUserId
+	 * @return LMSユーザーID
+	 */
+	Integer getLmsUserIdForUpdate(@Param("lmsUserId") Integer lmsUserId);
+
 }
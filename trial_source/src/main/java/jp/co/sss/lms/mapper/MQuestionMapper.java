@@ -1,5 +1,6 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.Date;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
@@ -25,4 +26,15 @@ public interface MQuestionMapper {
 	List<MQuestion> findByExamId(@Param("examId") Integer examId,
 			@Param("deleteFlg") Short deleteFlg);
 
+	/**
+	 * 今日の一問 出題候補取得（コースID）
+	 * 
+	 * @param courseId
+	 * @param date
+	 * @param deleteFlg
+	 * @return 試験問題エンティティリスト
+	 */
+	List<MQuestion> getDailyQuestionCandidateList(@Param("courseId") Integer courseId,
+			@Param("date") Date date, @Param("deleteFlg") Short deleteFlg);
+
 }
@@ -1,11 +1,15 @@
 package jp.co.sss.lms.mapper;
 
 import java.util.Date;
+import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
-import jp.co.sss.lms.dto.SectionServiceSectionDto;
+import jp.co.sss.lms.dto.SectionServiceDeliverablesSectionDto;
+import jp.co.sss.lms.dto.SectionServiceExamDto;
+import jp.co.sss.lms.dto.SectionServiceFileDto;
+import jp.co.sss.lms.entity.MSection;
 
 /**
  * セクションマスタマッパー
@@ -16,25 +20,42 @@ import jp.co.sss.lms.dto.SectionServiceSectionDto;
 public interface MSectionMapper {
 
 	/**
-	 * セクションサービスDTO取得
+	 * セクション取得
 	 * 
 	 * @param sectionId
-	 * @param accountId
-	 * @param lmsUserId
 	 * @param deleteFlg
-	 * @return セクションサービスDTO
+	 * @return セクションマスタエンティティ
 	 */
-	SectionServiceSectionDto getSectionDetail(@Param("sectionId") Integer sectionId,
-			@Param("accountId") Integer accountId, @Param("lmsUserId") Integer lmsUserId,
+	MSection getSection(@Param("sectionId") Integer sectionId,
 			@Param("deleteFlg") Short deleteFlg);
 
 	/**
-	 * セクション件数取得
+	 * セクションのファイルリスト取得
 	 * 
 	 * @param sectionId
-	 * @return セクション件数
+	 * @return セクションサービス ファイルDTOリスト
+	 */
+	List<SectionServiceFileDto> getSectionFileDtoList(@Param("sectionId") Integer sectionId);
+
+	/**
+	 * セクションの試験リスト取得
+	 * 
+	 * @param sectionId
+	 * @param deleteFlg
+	 * @return セクションサービス 試験DTOリスト
+	 */
+	List<SectionServiceExamDto> getSectionExamDtoList(@Param("sectionId") Integer sectionId,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * セクションの成果物リスト取得
+	 * 
+	 * @param sectionId
+	 * @param deleteFlg
+	 * @return セクションサービス 成果物・セクション紐付けDTOリスト
 	 */
-	Integer getSectionCount(@Param("sectionId") Integer sectionId);
+	List<SectionServiceDeliverablesSectionDto> getSectionDeliverablesDtoList(
+			@Param("sectionId") Integer sectionId, @Param("deleteFlg") Short deleteFlg);
 
 	/**
 	 * セクション件数取得（コースID）
@@ -1,11 +1,12 @@
 package jp.co.sss.lms.mapper;
 
 import java.util.Date;
+import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
-import jp.co.sss.lms.dto.DailyReportDto;
+import jp.co.sss.lms.dto.SectionServiceDailyReportDto;
 
 /**
  * コース・日報紐付けテーブルマッパー
@@ -16,19 +17,29 @@ import jp.co.sss.lms.dto.DailyReportDto;
 public interface TCourseDailyReportMapper {
 
 	/**
-	 * レポートDTO取得
+	 * コース・日報紐付け件数取得
 	 * 
 	 * @param dailyReportId
 	 * @param courseId
 	 * @param accountId
-	 * @param lmsUserId
 	 * @param deleteFlg
-	 * @param date
-	 * @return レポートDTO
+	 * @return 件数
 	 */
-	DailyReportDto getDailyReportDto(@Param("dailyReportId") Integer dailyReportId,
+	Integer getCount(@Param("dailyReportId") Integer dailyReportId,
 			@Param("courseId") Integer courseId, @Param("accountId") Integer accountId,
-			@Param("lmsUserId") Integer lmsUserId, @Param("deleteFlg") Short deleteFlg,
-			@Param("date") Date date);
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * コースの日報リスト取得（提出状況付き）
+	 * 
+	 * @param courseId
+	 * @param date
+	 * @param lmsUserId
+	 * @param deleteFlg
+	 * @return セクションサービス 日報DTOリスト
+	 */
+	List<SectionServiceDailyReportDto> getSectionServiceDailyReportDto(
+			@Param("courseId") Integer courseId, @Param("date") Date date,
+			@Param("lmsUserId") Integer lmsUserId, @Param("deleteFlg") Short deleteFlg);
 
 }
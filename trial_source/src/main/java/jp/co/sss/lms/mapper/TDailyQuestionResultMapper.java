@@ -0,0 +1,41 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import jp.co.sss.lms.entity.TDailyQuestionResult;
+
+/**
+ * 日次問題結果テーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TDailyQuestionResultMapper {
+
+	/**
+	 * 日次問題結果一括登録<br>
+	 * 同じ出題日の同じ問題に回答済の場合は登録しない。
+	 * 
+	 * @param tDailyQuestionResultList
+	 * @return 登録件数
+	 */
+	Integer insertBulk(@Param("list") List<TDailyQuestionResult> tDailyQuestionResultList);
+
+	/**
+	 * コース受講生の回答リスト取得
+	 * 
+	 * @param questionId
+	 * @param questionDate
+	 * @param courseId
+	 * @param deleteFlg
+	 * @return 日次問題結果エンティティリスト
+	 */
+	List<TDailyQuestionResult> getReplyList(@Param("questionId") Integer questionId,
+			@Param("questionDate") Date questionDate, @Param("courseId") Integer courseId,
+			@Param("deleteFlg") Short deleteFlg);
+
+}
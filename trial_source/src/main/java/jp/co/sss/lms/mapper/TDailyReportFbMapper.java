@@ -0,0 +1,29 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import jp.co.sss.lms.dto.DailyReportFbDto;
+
+/**
+ * 日報フィードバックテーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TDailyReportFbMapper {
+
+	/**
+	 * レポートフィードバックDTOリスト取得
+	 * 
+	 * @param dailyReportSubmitId
+	 * @param deleteFlg
+	 * @return レポートフィードバックDTOリスト
+	 */
+	List<DailyReportFbDto> getDailyReportFbDtoList(
+			@Param("dailyReportSubmitId") Integer dailyReportSubmitId,
+			@Param("deleteFlg") Short deleteFlg);
+
+}
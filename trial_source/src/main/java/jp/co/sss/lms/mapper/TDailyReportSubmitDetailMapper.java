@@ -1,8 +1,11 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import jp.co.sss.lms.dto.DailyReportDetailDto;
 import jp.co.sss.lms.entity.TDailyReportSubmitDetail;
 
 /**
@@ -22,6 +25,17 @@ public interface TDailyReportSubmitDetailMapper {
 	Integer getCountByDailyReportSubmitId(
 			@Param("dailyReportSubmitId") Integer dailyReportSubmitId);
 
+	/**
+	 * レポート詳細DTOリスト取得（項目番号・内容）
+	 * 
+	 * @param dailyReportSubmitId
+	 * @param deleteFlg
+	 * @return レポート詳細DTOリスト
+	 */
+	List<DailyReportDetailDto> getDailyReportDetailDtoList(
+			@Param("dailyReportSubmitId") Integer dailyReportSubmitId,
+			@Param("deleteFlg") Short deleteFlg);
+
 	/**
 	 * 日報提出詳細削除
 	 * 
@@ -38,4 +52,12 @@ public interface TDailyReportSubmitDetailMapper {
 	 */
 	Boolean insert(TDailyReportSubmitDetail tDailyReportSubmitDetail);
 
+	/**
+	 * 日報提出詳細一括登録
+	 * 
+	 * @param tDailyReportSubmitDetailList
+	 * @return 登録件数
+	 */
+	Integer insertBulk(@Param("list") List<TDailyReportSubmitDetail> tDailyReportSubmitDetailList);
+
 }
@@ -1,5 +1,6 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.Date;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
@@ -44,7 +45,7 @@ public interface TDailyReportSubmitMapper {
 			@Param("deleteFlg") Short deleteFlg);
 
 	/**
-	 * レポートダウンロードDTO取得
+	 * レポートダウンロードDTO取得（提出者情報のみ）
 	 * 
 	 * @param dailyReportSubmitId
 	 * @param dailyReportId
@@ -65,4 +66,15 @@ public interface TDailyReportSubmitMapper {
 	DailyReportDto getDailyReportDto(@Param("dailyReportSubmitId") Integer dailyReportSubmitId,
 			@Param("deleteFlg") Short deleteFlg);
 
+	/**
+	 * レポート提出取得
+	 * 
+	 * @param dailyReportId
+	 * @param lmsUserId
+	 * @param date
+	 * @return レポートDTO（提出ID・日報ID・日付のみ）
+	 */
+	DailyReportDto getDailyReportSubmit(@Param("dailyReportId") Integer dailyReportId,
+			@Param("lmsUserId") Integer lmsUserId, @Param("date") Date date);
+
 }
@@ -4,10 +4,12 @@ import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import jp.co.sss.lms.dto.ExamDetailDto;
 import jp.co.sss.lms.dto.ExamResultDetailDto;
 import jp.co.sss.lms.dto.ExamResultDto;
+import jp.co.sss.lms.dto.ExamResultExportDto;
 import jp.co.sss.lms.entity.TExamResult;
 
 /**
@@ -69,4 +71,15 @@ public interface TExamResultMapper {
 	Integer getExamCount(@Param("examSectionId") Integer examSectionId,
 			@Param("lmsUserId") Integer lmsUserId, @Param("deleteFlg") Short deleteFlg);
 
+	/**
+	 * 試験結果エクスポートDTO取得（カーソル）
+	 * 
+	 * @param courseId
+	 * @param accountId
+	 * @param deleteFlg
+	 * @return 試験結果エクスポートDTOのカーソル
+	 */
+	Cursor<ExamResultExportDto> getExamResultExportCursor(@Param("courseId") Integer courseId,
+			@Param("accountId") Integer accountId, @Param("deleteFlg") Short deleteFlg);
+
 }
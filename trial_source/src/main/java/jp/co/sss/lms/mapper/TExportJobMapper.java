@@ -0,0 +1,101 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import jp.co.sss.lms.entity.TExportJob;
+
+/**
+ * エクスポートジョブテーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TExportJobMapper {
+
+	/**
+	 * エクスポートジョブ登録
+	 * 
+	 * @param tExportJob
+	 * @return 登録件数
+	 */
+	Integer insert(TExportJob tExportJob);
+
+	/**
+	 * エクスポートジョブ取得
+	 * 
+	 * @param exportJobId
+	 * @param lmsUserId
+	 * @return エクスポートジョブエンティティ
+	 */
+	TExportJob getExportJob(@Param("exportJobId") String exportJobId,
+			@Param("lmsUserId") Integer lmsUserId);
+
+	/**
+	 * 指定した状態のジョブ数取得
+	 * 
+	 * @param lmsUserId
+	 * @param statusList
+	 * @return ジョブ数
+	 */
+	Integer getCount(@Param("lmsUserId") Integer lmsUserId,
+			@Param("statusList") List<String> statusList);
+
+	/**
+	 * 状態更新<br>
+	 * 現在の状態が指定した状態のいずれかの場合のみ更新する。
+	 * 
+	 * @param tExportJob
+	 * @param currentStatusList
+	 * @return 更新件数
+	 */
+	Integer updateStatus(@Param("tExportJob") TExportJob tExportJob,
+			@Param("currentStatusList") List<String> currentStatusList);
+
+	/**
+	 * 更新日時の更新<br>
+	 * 現在の状態が指定した状態のいずれかの場合のみ更新する。
+	 * 
+	 * @param exportJobIdList
+	 * @param currentStatusList
+	 * @param now
+	 * @return 更新件数
+	 */
+	Integer updateLastModifiedDate(@Param("exportJobIdList") List<String> exportJobIdList,
+			@Param("currentStatusList") List<String> currentStatusList, @Param("now") Date now);
+
+	/**
+	 * 一定時間更新のないジョブの状態更新
+	 * 
+	 * @param currentStatusList
+	 * @param lastModifiedDateTo
+	 * @param status
+	 * @param now
+	 * @return 更新件数
+	 */
+	Integer updateStaleStatus(@Param("currentStatusList") List<String> currentStatusList,
+			@Param("lastModifiedDateTo") Date lastModifiedDateTo, @Param("status") String status,
+			@Param("now") Date now);
+
+	/**
+	 * 一定時間更新のないジョブのID取得
+	 * 
+	 * @param statusList
+	 * @param lastModifiedDateTo
+	 * @return エクスポートジョブIDリスト
+	 */
+	List<String> getStaleIdList(@Param("statusList") List<String> statusList,
+			@Param("lastModifiedDateTo") Date lastModifiedDateTo);
+
+	/**
+	 * エクスポートジョブ削除
+	 * 
+	 * @param exportJobIdList
+	 * @return 削除件数
+	 */
+	Integer delete(@Param("exportJobIdList") List<String> exportJobIdList);
+
+}
@@ -1,8 +1,11 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import jp.co.sss.lms.dto.IntelligibilityDto;
 import jp.co.sss.lms.entity.TIntelligibility;
 
 /**
@@ -22,6 +25,17 @@ public interface TIntelligibilityMapper {
 	Integer getCountByDailyReportSubmitId(
 			@Param("dailyReportSubmitId") Integer dailyReportSubmitId);
 
+	/**
+	 * 理解度DTOリスト取得
+	 * 
+	 * @param dailyReportSubmitId
+	 * @param deleteFlg
+	 * @return 理解度DTOリスト
+	 */
+	List<IntelligibilityDto> getIntelligibilityDtoList(
+			@Param("dailyReportSubmitId") Integer dailyReportSubmitId,
+			@Param("deleteFlg") Short deleteFlg);
+
 	/**
 	 * 理解度削除
 	 * 
@@ -38,4 +52,12 @@ public interface TIntelligibilityMapper {
 	 */
 	Boolean insert(TIntelligibility tIntelligibility);
 
+	/**
+	 * 理解度一括登録
+	 * 
+	 * @param tIntelligibilityList
+	 * @return 登録件数
+	 */
+	Integer insertBulk(@Param("list") List<TIntelligibility> tIntelligibilityList);
+
 }
@@ -1,6 +1,9 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import jp.co.sss.lms.entity.TMailQueFile;
 
@@ -20,4 +23,22 @@ public interface TMailQueFileMapper {
 	 */
 	Boolean insert(TMailQueFile tMailQueFile);
 
+	/**
+	 * メール送信キュー・ファイル紐付け一括登録
+	 * 
+	 * @param tMailQueFileList
+	 * @return 登録件数
+	 */
+	Integer insertBulk(@Param("list") List<TMailQueFile> tMailQueFileList);
+
+	/**
+	 * 添付ファイルが紐づくメール送信キューIDの取得
+	 * 
+	 * @param mailQueIdList
+	 * @param deleteFlg
+	 * @return メール送信キューIDリスト
+	 */
+	List<Integer> getMailQueIdList(@Param("mailQueIdList") List<Integer> mailQueIdList,
+			@Param("deleteFlg") short deleteFlg);
+
 }
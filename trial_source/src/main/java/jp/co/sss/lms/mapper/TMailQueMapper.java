@@ -1,6 +1,10 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.Date;
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import jp.co.sss.lms.entity.TMailQue;
 
@@ -20,4 +24,46 @@ public interface TMailQueMapper {
 	 */
 	Boolean insert(TMailQue tMailQue);
 
+	/**
+	 * メール送信キュー一括登録<br>
+	 * 採番したメール送信キューIDは各エンティティに設定する。
+	 * 
+	 * @param tMailQueList
+	 * @return 登録件数
+	 */
+	Integer insertBulk(@Param("list") List<TMailQue> tMailQueList);
+
+	/**
+	 * 送信対象のメール送信キュー取得（行ロック）<br>
+	 * 他のトランザクションがロック中の行は読み飛ばす。
+	 * 
+	 * @param sendStatus
+	 * @param now
+	 * @param limit
+	 * @param deleteFlg
+	 * @return メール送信キューリスト
+	 */
+	List<TMailQue> getSendTargetListForUpdate(@Param("sendStatus") Short sendStatus,
+			@Param("now") Date now, @Param("limit") int limit, @Param("deleteFlg") short deleteFlg);
+
+	/**
+	 * 次回送信日時の一括更新
+	 * 
+	 * @param mailQueIdList
+	 * @param nextSendDate
+	 * @param lastModifiedDate
+	 * @return 更新件数
+	 */
+	Integer updateNextSendDate(@Param("mailQueIdList") List<Integer> mailQueIdList,
+			@Param("nextSendDate") Date nextSendDate,
+			@Param("lastModifiedDate") Date lastModifiedDate);
+
+	/**
+	 * 送信結果の更新
+	 * 
+	 * @param tMailQue
+	 * @return 更新結果
+	 */
+	Boolean updateSendResult(TMailQue tMailQue);
+
 }
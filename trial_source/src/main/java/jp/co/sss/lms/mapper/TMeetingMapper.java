@@ -1,5 +1,7 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -24,4 +26,15 @@ public interface TMeetingMapper {
 	MeetingDownloadDto getMeetingDownloadDto(@Param("meetingId") Integer meetingId,
 			@Param("deleteFlg") Short deleteFlg);
 
+	/**
+	 * コースの面談IDリスト取得
+	 * 
+	 * @param courseId
+	 * @param accountId
+	 * @param deleteFlg
+	 * @return 面談IDリスト
+	 */
+	List<Integer> getMeetingIdListByCourseId(@Param("courseId") Integer courseId,
+			@Param("accountId") Integer accountId, @Param("deleteFlg") Short deleteFlg);
+
 }
@@ -1,20 +1,30 @@
 package jp.co.sss.lms.service;
 
-import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import jp.co.sss.lms.dto.CourseServiceCategoryDto;
 import jp.co.sss.lms.dto.CourseServiceCourseDto;
+import jp.co.sss.lms.dto.CourseServiceSectionDto;
+import jp.co.sss.lms.entity.CourseDetail;
 import jp.co.sss.lms.mapper.MCourseMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.LoggingUtil;
 import jp.co.sss.lms.util.MessageUtil;
 
 /**
- * コース情報サービス
+ * コース情報サービス<br>
+ * コース詳細はコース毎に保持して受講生間で共有し、コース・セクションの最終更新日時が変わったら読み直す。
  * 
  * @author 東京ITスクール
  */
@@ -30,39 +40,98 @@ public class CourseService {
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
+	/** コースID毎のコース詳細 */
+	private final Map<Integer, CourseOutline> courseOutlineMap = new ConcurrentHashMap<>();
+
 	/**
-	 * パラメータチェック
+	 * コース情報サービス コースDTOの取得<br>
+	 * コースが存在しない場合は削除済としてログを出力する。返却するDTOは共有するため変更不可とする。
 	 * 
 	 * @param courseId
-	 * @return エラーメッセージ
+	 * @return courseServiceCourseDto（コースが存在しない場合空）
 	 */
-	public String checkCourseId(Integer courseId) {
-		Integer courseCount = mCourseMapper.getCourseCount(courseId);
-		if (courseCount == 0) {
-			String message = messageUtil.getMessage(Constants.VALID_KEY_ALREADYDELETE,
-					new String[] { "コースID " + courseId });
-			StringBuffer sb = new StringBuffer(message);
-			loggingUtil.appendLog(sb);
-			logger.info(sb.toString());
-			return message;
+	public Optional<CourseServiceCourseDto> getCourseDetail(Integer courseId) {
+
+		// 存在チェックを兼ねて更新日時を取得
+		Date version = mCourseMapper.getCourseLastModifiedDate(courseId, Constants.DB_FLG_FALSE);
+		if (version == null) {
+			courseOutlineMap.remove(courseId);
+			logAlreadyDeleted(courseId);
+			return Optional.empty();
+		}
+		CourseOutline courseOutline = courseOutlineMap.get(courseId);
+		if (courseOutline != null && courseOutline.version.equals(version)) {
+			return Optional.of(courseOutline.courseServiceCourseDto);
+		}
+
+		List<CourseDetail> courseDetailList = mCourseMapper.getCourseDetail(courseId,
+				Constants.DB_FLG_FALSE);
+		if (courseDetailList.isEmpty()) {
+			courseOutlineMap.remove(courseId);
+			logAlreadyDeleted(courseId);
+			return Optional.empty();
 		}
-		return "";
+		CourseServiceCourseDto courseServiceCourseDto = toCourseServiceCourseDto(courseDetailList);
+		courseOutlineMap.put(courseId, new CourseOutline(version, courseServiceCourseDto));
+
+		return Optional.of(courseServiceCourseDto);
+
 	}
 
 	/**
-	 * コース情報サービス コースDTOの取得
+	 * 削除済コースへのアクセスのログ出力
 	 * 
 	 * @param courseId
-	 * @return courseServiceCourseDto
-	 * @throws ParseException
 	 */
-	public CourseServiceCourseDto getCourseDetail(Integer courseId) throws ParseException {
+	private void logAlreadyDeleted(Integer courseId) {
+		String message = messageUtil.getMessage(Constants.VALID_KEY_ALREADYDELETE,
+				new String[] { "コースID " + courseId });
+		StringBuilder sb = new StringBuilder(message);
+		loggingUtil.appendLog(sb);
+		logger.info(sb.toString());
+	}
 
-		CourseServiceCourseDto courseServiceCourseDto = mCourseMapper.getCourseDetail(courseId,
-				Constants.DB_FLG_FALSE);
+	/**
+	 * コース詳細からコースDTOを作成<br>
+	 * セクションはカテゴリ名毎に、カテゴリは最初に現れた順にまとめる。
+	 * 
+	 * @param courseDetailList
+	 * @return コース情報サービス コースDTO
+	 */
+	private CourseServiceCourseDto toCourseServiceCourseDto(List<CourseDetail> courseDetailList) {
+		Map<String, List<CourseServiceSectionDto>> sectionMap = new LinkedHashMap<>();
+		for (CourseDetail courseDetail : courseDetailList) {
+			// セクションがない場合
+			if (courseDetail.getSectionId() == null) {
+				continue;
+			}
+			sectionMap.computeIfAbsent(courseDetail.getCategoryName(), key -> new ArrayList<>())
+					.add(new CourseServiceSectionDto(courseDetail.getSectionId(),
+							courseDetail.getSectionName(), courseDetail.getDate()));
+		}
+		List<CourseServiceCategoryDto> categoryList = new ArrayList<>();
+		for (Map.Entry<String, List<CourseServiceSectionDto>> entry : sectionMap.entrySet()) {
+			categoryList.add(new CourseServiceCategoryDto(entry.getKey(), entry.getValue()));
+		}
+		CourseDetail course = courseDetailList.get(0);
+		return new CourseServiceCourseDto(course.getCourseId(), course.getCourseName(),
+				course.getOpenTime(), course.getCloseTime(), categoryList);
+	}
 
-		return courseServiceCourseDto;
+	/**
+	 * コース毎のコース詳細（メモリ保持用）
+	 */
+	private static final class CourseOutline {
 
+		/** コース・セクションの最終更新日時 */
+		private final Date version;
+		/** コース情報サービス コースDTO */
+		private final CourseServiceCourseDto courseServiceCourseDto;
+
+		private CourseOutline(Date version, CourseServiceCourseDto courseServiceCourseDto) {
+			this.version = version;
+			this.courseServiceCourseDto = courseServiceCourseDto;
+		}
 	}
 
 }
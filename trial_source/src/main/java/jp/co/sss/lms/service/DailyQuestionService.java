@@ -0,0 +1,414 @@
+package jp.co.sss.lms.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import jp.co.sss.lms.dto.DailyQuestionDto;
+import jp.co.sss.lms.dto.DailyQuestionResultDto;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.entity.MQuestion;
+import jp.co.sss.lms.entity.TDailyQuestionResult;
+import jp.co.sss.lms.mapper.MCourseMapper;
+import jp.co.sss.lms.mapper.MQuestionMapper;
+import jp.co.sss.lms.mapper.TDailyQuestionResultMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.SettingProperties;
+
+/**
+ * 今日の一問サービス<br>
+ * 出題と回答状況はコース毎にメモリ上で保持し、回答はまとめてDBへ登録する（1人1回はDBの一意制約で保証）。
+ * 回答状況は一定時間毎にDBから読み直すため、複数台構成では他のサーバーの回答も保持期限後に反映される。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class DailyQuestionService {
+
+	/** 選択肢の数 */
+	private static final int CHOICE_NUM = 4;
+	/** 一括登録の最大件数 */
+	private static final int INSERT_BATCH_SIZE = 500;
+	/** DB未登録の回答の保持件数の上限 */
+	private static final int REPLY_QUEUE_CAPACITY = 10000;
+
+	@Autowired
+	private MCourseMapper mCourseMapper;
+	@Autowired
+	private MQuestionMapper mQuestionMapper;
+	@Autowired
+	private TDailyQuestionResultMapper tDailyQuestionResultMapper;
+	@Autowired
+	private LoginUserDto loginUserDto;
+	@Autowired
+	private DateUtil dateUtil;
+	@Autowired
+	private SettingProperties settingProperties;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** コースID毎の今日の一問 */
+	private final Map<Integer, DailyQuestion> dailyQuestionMap = new ConcurrentHashMap<>();
+	/** DB未登録の回答 */
+	private final BlockingQueue<TDailyQuestionResult> replyQueue = new LinkedBlockingQueue<>(
+			REPLY_QUEUE_CAPACITY);
+	/** コースID毎の今日の一問の作成中の排他（仮想スレッドを固定しないようMapのcomputeで作成しない） */
+	private final Map<Integer, Lock> loadLockMap = new ConcurrentHashMap<>();
+
+	/**
+	 * 今日の一問の更新<br>
+	 * 更新時刻に開講中の全コースの出題を作成する。
+	 * 既に当日分を作成済のコースはそのまま使い続ける。
+	 */
+	@Scheduled(cron = "0 0 ${setting.dailyquestion.updatehour} * * *")
+	public void refresh() {
+		Date questionDate = getQuestionDate(new Date());
+		List<Integer> courseIdList = mCourseMapper.getOpenCourseIdList(questionDate,
+				Constants.DB_FLG_FALSE);
+		for (Integer courseId : courseIdList) {
+			getDailyQuestion(courseId);
+		}
+		dailyQuestionMap.values().removeIf(dq -> !dq.questionDate.equals(questionDate));
+		loadLockMap.keySet().retainAll(dailyQuestionMap.keySet());
+		logger.info("今日の一問を更新しました。コース数=" + courseIdList.size());
+	}
+
+	/**
+	 * 今日の一問の取得
+	 *
+	 * @return 今日の一問DTO
+	 */
+	public DailyQuestionDto getDailyQuestionDto() {
+		DailyQuestionDto dailyQuestionDto = getDailyQuestion(loginUserDto.getCourseId()).dailyQuestionDto;
+		if (dailyQuestionDto == null) {
+			return new DailyQuestionDto();
+		}
+		return dailyQuestionDto;
+	}
+
+	/**
+	 * 今日の一問への回答
+	 *
+	 * @param reply
+	 * @return 回答状況DTO
+	 */
+	public DailyQuestionResultDto reply(Short reply) {
+		DailyQuestion dailyQuestion = getDailyQuestion(loginUserDto.getCourseId());
+		if (dailyQuestion.dailyQuestionDto == null || reply == null || reply < 1
+				|| reply > CHOICE_NUM) {
+			return getResult(dailyQuestion);
+		}
+
+		// 回答は1人1回まで（他のサーバーで回答済の場合は読み直し済の分のみ判定し、残りはDBの一意制約で除外）
+		Integer lmsUserId = loginUserDto.getLmsUserId();
+		if (getReplyCount(dailyQuestion).replyMap.containsKey(lmsUserId)
+				|| dailyQuestion.replyMap.putIfAbsent(lmsUserId, reply) != null) {
+			return getResult(dailyQuestion);
+		}
+		// 読み直し中の場合も、読み直し後の回答状況に反映される（replyMapの反映は重複しない）
+		dailyQuestion.replyCount.add(lmsUserId, reply);
+
+		Date now = new Date();
+		TDailyQuestionResult tDailyQuestionResult = new TDailyQuestionResult();
+		tDailyQuestionResult.setQuestionId(dailyQuestion.dailyQuestionDto.getQuestionId());
+		tDailyQuestionResult.setQuestionDate(dailyQuestion.questionDate);
+		tDailyQuestionResult.setLmsUserId(lmsUserId);
+		tDailyQuestionResult.setReply(reply);
+		tDailyQuestionResult.setReplyDate(now);
+		tDailyQuestionResult.setAccountId(loginUserDto.getAccountId());
+		tDailyQuestionResult.setDeleteFlg(Constants.DB_FLG_FALSE);
+		tDailyQuestionResult.setFirstCreateUser(lmsUserId);
+		tDailyQuestionResult.setFirstCreateDate(now);
+		tDailyQuestionResult.setLastModifiedUser(lmsUserId);
+		tDailyQuestionResult.setLastModifiedDate(now);
+		// 上限に達した場合は未登録の回答を登録してから積み、それでも積めない場合はその場で登録する
+		if (!replyQueue.offer(tDailyQuestionResult)) {
+			flush();
+			if (!replyQueue.offer(tDailyQuestionResult)) {
+				insertBulk(List.of(tDailyQuestionResult));
+			}
+		}
+		return getResult(dailyQuestion);
+	}
+
+	/**
+	 * 今日の一問の回答状況取得
+	 *
+	 * @return 回答状況DTO
+	 */
+	public DailyQuestionResultDto getResult() {
+		return getResult(getDailyQuestion(loginUserDto.getCourseId()));
+	}
+
+	/**
+	 * 未登録の回答をDBへ一括登録<br>
+	 * 他のサーバーで回答済の場合など、一意制約に違反する回答は登録しない。
+	 */
+	@Scheduled(fixedDelayString = "${setting.dailyquestion.flush.interval}")
+	@PreDestroy
+	public void flush() {
+		List<TDailyQuestionResult> insertList = new ArrayList<>(INSERT_BATCH_SIZE);
+		while (replyQueue.drainTo(insertList, INSERT_BATCH_SIZE) > 0) {
+			if (!insertBulk(insertList)) {
+				return;
+			}
+			insertList.clear();
+		}
+	}
+
+	/**
+	 * 回答の一括登録<br>
+	 * 失敗した場合は次回の登録に回す（保持件数の上限を超える分は破棄する）。
+	 *
+	 * @param insertList
+	 * @return 登録できた場合true
+	 */
+	private boolean insertBulk(List<TDailyQuestionResult> insertList) {
+		try {
+			tDailyQuestionResultMapper.insertBulk(insertList);
+			return true;
+		} catch (RuntimeException e) {
+			logger.error("今日の一問の回答登録に失敗しました。件数=" + insertList.size(), e);
+			int discardCount = 0;
+			for (TDailyQuestionResult tDailyQuestionResult : insertList) {
+				if (!replyQueue.offer(tDailyQuestionResult)) {
+					discardCount++;
+				}
+			}
+			if (discardCount > 0) {
+				logger.error("今日の一問の回答を破棄しました。件数=" + discardCount);
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * コースの今日の一問を取得（未作成の場合は作成）<br>
+	 * コースに所属していない場合は出題なしとする。
+	 *
+	 * @param courseId
+	 * @return 今日の一問
+	 */
+	private DailyQuestion getDailyQuestion(Integer courseId) {
+		Date questionDate = getQuestionDate(new Date());
+		if (courseId == null) {
+			return new DailyQuestion(questionDate, null);
+		}
+		DailyQuestion dailyQuestion = dailyQuestionMap.get(courseId);
+		if (dailyQuestion != null && dailyQuestion.questionDate.equals(questionDate)) {
+			return dailyQuestion;
+		}
+		Lock loadLock = loadLockMap.computeIfAbsent(courseId, key -> new ReentrantLock());
+		loadLock.lock();
+		try {
+			dailyQuestion = dailyQuestionMap.get(courseId);
+			if (dailyQuestion == null || !dailyQuestion.questionDate.equals(questionDate)) {
+				dailyQuestion = load(courseId, questionDate);
+				dailyQuestionMap.put(courseId, dailyQuestion);
+			}
+			return dailyQuestion;
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	/**
+	 * 今日の一問の作成<br>
+	 * コースで公開済みの試験問題から出題日に応じて1問選ぶ。
+	 *
+	 * @param courseId
+	 * @param questionDate
+	 * @return 今日の一問
+	 */
+	private DailyQuestion load(Integer courseId, Date questionDate) {
+		Date updateDate = dateUtil.addHour(questionDate,
+				settingProperties.getDailyquestion().getUpdatehour());
+		List<MQuestion> mQuestionList = mQuestionMapper.getDailyQuestionCandidateList(courseId,
+				updateDate, Constants.DB_FLG_FALSE);
+		if (mQuestionList.isEmpty()) {
+			return new DailyQuestion(questionDate, null);
+		}
+
+		// 出題日とコースIDから出題する問題を決定
+		long day = TimeUnit.MILLISECONDS.toDays(questionDate.getTime());
+		MQuestion mQuestion = mQuestionList
+				.get((int) Math.floorMod(day + courseId, (long) mQuestionList.size()));
+		DailyQuestionDto dailyQuestionDto = new DailyQuestionDto();
+		dailyQuestionDto.setCourseId(courseId);
+		dailyQuestionDto.setQuestionDate(questionDate);
+		dailyQuestionDto.setQuestionId(mQuestion.getQuestionId());
+		dailyQuestionDto.setQuestion(mQuestion.getQuestion());
+		dailyQuestionDto.setChoice1(mQuestion.getChoice1());
+		dailyQuestionDto.setChoice2(mQuestion.getChoice2());
+		dailyQuestionDto.setChoice3(mQuestion.getChoice3());
+		dailyQuestionDto.setChoice4(mQuestion.getChoice4());
+
+		return new DailyQuestion(questionDate, dailyQuestionDto);
+	}
+
+	/**
+	 * コースの回答状況を取得（保持期限切れの場合はDBから読み直す）<br>
+	 * 読み直しは1スレッドのみが行い、他のスレッドは読み直し中も現在の回答状況を使う（初回の読み込みのみ完了を待つ）。
+	 * 読み直し後に、このサーバーで受け付けた回答を反映する（DBの回答を優先し、同じ受講生は重複して数えない）。
+	 *
+	 * @param dailyQuestion
+	 * @return 回答状況
+	 */
+	private ReplyCount getReplyCount(DailyQuestion dailyQuestion) {
+		ReplyCount replyCount = dailyQuestion.replyCount;
+		if (!isExpired(replyCount)) {
+			return replyCount;
+		}
+		Lock reloadLock = dailyQuestion.reloadLock;
+		if (replyCount.loadTime == 0L) {
+			reloadLock.lock();
+		} else if (!reloadLock.tryLock()) {
+			return replyCount;
+		}
+		try {
+			// 待っている間に他のスレッドが読み直した場合はそれを使う
+			replyCount = dailyQuestion.replyCount;
+			if (!isExpired(replyCount)) {
+				return replyCount;
+			}
+			replyCount = new ReplyCount();
+			List<TDailyQuestionResult> replyList = tDailyQuestionResultMapper.getReplyList(
+					dailyQuestion.dailyQuestionDto.getQuestionId(), dailyQuestion.questionDate,
+					dailyQuestion.dailyQuestionDto.getCourseId(), Constants.DB_FLG_FALSE);
+			for (TDailyQuestionResult tDailyQuestionResult : replyList) {
+				replyCount.add(tDailyQuestionResult.getLmsUserId(), tDailyQuestionResult.getReply());
+			}
+			dailyQuestion.replyCount = replyCount;
+			// 切り替え前に受け付けた回答を反映（切り替え後に受け付けた回答は回答時に反映される）
+			dailyQuestion.replyMap.forEach(replyCount::add);
+			return replyCount;
+		} finally {
+			reloadLock.unlock();
+		}
+	}
+
+	/**
+	 * 回答状況の保持期限切れの判定
+	 *
+	 * @param replyCount
+	 * @return 保持期限切れの場合true
+	 */
+	private boolean isExpired(ReplyCount replyCount) {
+		long resultCacheExpire = settingProperties.getDailyquestion().getResult().getCache()
+				.getExpire().toMillis();
+		return System.currentTimeMillis() - replyCount.loadTime >= resultCacheExpire;
+	}
+
+	/**
+	 * 回答状況DTOの作成
+	 *
+	 * @param dailyQuestion
+	 * @return 回答状況DTO
+	 */
+	private DailyQuestionResultDto getResult(DailyQuestion dailyQuestion) {
+		DailyQuestionResultDto dailyQuestionResultDto = new DailyQuestionResultDto();
+		long[] replyCountArray = new long[CHOICE_NUM];
+		long totalCount = 0;
+		if (dailyQuestion.dailyQuestionDto != null) {
+			Integer questionId = dailyQuestion.dailyQuestionDto.getQuestionId();
+			ReplyCount replyCount = getReplyCount(dailyQuestion);
+			dailyQuestionResultDto.setQuestionId(questionId);
+			dailyQuestionResultDto.setReply(replyCount.replyMap.get(loginUserDto.getLmsUserId()));
+			for (int i = 0; i < CHOICE_NUM; i++) {
+				replyCountArray[i] = replyCount.replyCounts[i].sum();
+				totalCount += replyCountArray[i];
+			}
+		}
+		dailyQuestionResultDto.setReplyCountArray(replyCountArray);
+		dailyQuestionResultDto.setTotalCount(totalCount);
+		return dailyQuestionResultDto;
+	}
+
+	/**
+	 * 出題日の取得<br>
+	 * 更新時刻より前は前日の問題とする。
+	 *
+	 * @param now
+	 * @return 出題日
+	 */
+	private Date getQuestionDate(Date now) {
+		return dateUtil.getDateWithoutTime(dateUtil.addHour(now,
+				-settingProperties.getDailyquestion().getUpdatehour()));
+	}
+
+	/**
+	 * コース毎の今日の一問（メモリ保持用）
+	 */
+	private static final class DailyQuestion {
+
+		/** 出題日 */
+		private final Date questionDate;
+		/** 今日の一問DTO（出題なしの場合null） */
+		private final DailyQuestionDto dailyQuestionDto;
+		/** このサーバーで受け付けたLMSユーザーID毎の回答 */
+		private final Map<Integer, Short> replyMap = new ConcurrentHashMap<>();
+		/** 回答状況（初回参照時にDBから読み込む） */
+		private volatile ReplyCount replyCount = new ReplyCount(0L);
+		/** 回答状況の読み直しの排他 */
+		private final Lock reloadLock = new ReentrantLock();
+
+		private DailyQuestion(Date questionDate, DailyQuestionDto dailyQuestionDto) {
+			this.questionDate = questionDate;
+			this.dailyQuestionDto = dailyQuestionDto;
+		}
+	}
+
+	/**
+	 * コース毎の回答状況（メモリ保持用）
+	 */
+	private static final class ReplyCount {
+
+		/** LMSユーザーID毎の回答 */
+		private final Map<Integer, Short> replyMap = new ConcurrentHashMap<>();
+		/** 選択肢毎の回答数 */
+		private final LongAdder[] replyCounts = new LongAdder[CHOICE_NUM];
+		/** 読み込み日時 */
+		private final long loadTime;
+
+		private ReplyCount() {
+			this(System.currentTimeMillis());
+		}
+
+		private ReplyCount(long loadTime) {
+			this.loadTime = loadTime;
+			for (int i = 0; i < CHOICE_NUM; i++) {
+				replyCounts[i] = new LongAdder();
+			}
+		}
+
+		/**
+		 * 回答の反映（反映済の受講生の回答は数えない）
+		 *
+		 * @param lmsUserId
+		 * @param reply
+		 */
+		private void add(Integer lmsUserId, Short reply) {
+			if (reply != null && reply >= 1 && reply <= CHOICE_NUM
+					&& replyMap.putIfAbsent(lmsUserId, reply) == null) {
+				replyCounts[reply - 1].increment();
+			}
+		}
+	}
+
+}
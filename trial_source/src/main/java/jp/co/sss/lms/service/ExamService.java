@@ -1,16 +1,29 @@
 package jp.co.sss.lms.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.springframework.beans.BeanUtils;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jp.co.sss.lms.dto.ExamDetailDto;
 import jp.co.sss.lms.dto.ExamQuestionDto;
 import jp.co.sss.lms.dto.ExamResultDetailDto;
+import jp.co.sss.lms.dto.ExamResultExportDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.dto.QuestionDto;
 import jp.co.sss.lms.entity.MQuestion;
@@ -22,6 +35,9 @@ import jp.co.sss.lms.mapper.MQuestionMapper;
 import jp.co.sss.lms.mapper.TExamResultDetailMapper;
 import jp.co.sss.lms.mapper.TExamResultMapper;
 import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.ExcelUtil;
+import jp.co.sss.lms.util.StringUtil;
 
 /**
  * 試験情報サービス
@@ -31,6 +47,12 @@ import jp.co.sss.lms.util.Constants;
 @Service
 public class ExamService {
 
+	/** 試験結果エクスポートの見出し */
+	private static final String[] EXPORT_HEADERS = { "試験結果ID", "LMSユーザーID", "氏名", "試験名", "受験日時",
+			"得点", "所要時間", "採点対象", "問題ID", "問題", "回答", "正解" };
+	/** SXSSFでメモリ上に保持する行数 */
+	private static final int SXSSF_WINDOW_SIZE = 100;
+
 	@Autowired
 	private TExamResultMapper tExamResultMapper;
 	@Autowired
@@ -41,6 +63,8 @@ public class ExamService {
 	private MQuestionMapper mQuestionMapper;
 	@Autowired
 	private LoginUserDto loginUserDto;
+	@Autowired
+	private DateUtil dateUtil;
 
 	/**
 	 * 試験詳細情報を取得
@@ -93,7 +117,10 @@ public class ExamService {
 		// 試験問題情報を取得
 		ExamQuestionDto examQuestionDto = mExamMapper.getExamQuestion(examQuestionForm.getExamId(),
 				Constants.DB_FLG_FALSE);
-		BeanUtils.copyProperties(examQuestionDto, examQuestionForm);
+		examQuestionForm.setExamId(examQuestionDto.getExamId());
+		examQuestionForm.setExamName(examQuestionDto.getExamName());
+		examQuestionForm.setLimitTime(examQuestionDto.getLimitTime());
+		examQuestionForm.setQuestionDtoList(examQuestionDto.getQuestionDtoList());
 		// 試験問題情報を基に試験問題DTO．問題DTOリスト．回答リストを設定
 		for (QuestionDto questionDto : examQuestionForm.getQuestionDtoList()) {
 			List<String> answerList = new LinkedList<>();
@@ -197,4 +224,147 @@ public class ExamService {
 		return tExamResult.getExamResultId();
 	}
 
-}
\ No newline at end of file
+	/**
+	 * 試験結果一覧のダウンロード<br>
+	 * カーソルで1行ずつ読み込み、レスポンスへ直接書き出す。
+	 * 
+	 * @param courseId
+	 * @param format   csv または xlsx
+	 * @param response
+	 * @throws IOException
+	 */
+	@Transactional(readOnly = true)
+	public void downloadResultList(Integer courseId, String format, HttpServletResponse response)
+			throws IOException {
+
+		boolean isXlsx = "xlsx".equals(format);
+		String fileName = "試験結果_" + courseId + "_" + dateUtil.getCurrentDateString("yyyyMMdd")
+				+ (isXlsx ? ".xlsx" : ".csv");
+		ExcelUtil.setDownloadHeader(fileName, response);
+
+		// カーソルはトランザクション内でのみ読み込み可能
+		try (Cursor<ExamResultExportDto> cursor = tExamResultMapper.getExamResultExportCursor(courseId,
+				loginUserDto.getAccountId(), Constants.DB_FLG_FALSE);
+				OutputStream out = response.getOutputStream()) {
+			if (isXlsx) {
+				writeResultListXlsx(cursor, out);
+			} else {
+				writeResultListCsv(cursor, out);
+			}
+		}
+	}
+
+	/**
+	 * 試験結果一覧をCSVで出力
+	 * 
+	 * @param cursor
+	 * @param out
+	 * @throws IOException
+	 */
+	private void writeResultListCsv(Cursor<ExamResultExportDto> cursor, OutputStream out)
+			throws IOException {
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, "Windows-31J"));
+		writer.write(String.join(",", EXPORT_HEADERS));
+		writer.write("\r\n");
+		for (ExamResultExportDto dto : cursor) {
+			writer.write(toString(dto.getExamResultId()));
+			writer.write(',');
+			writer.write(toString(dto.getLmsUserId()));
+			writer.write(',');
+			writer.write(StringUtil.toCsvValue(dto.getUserName()));
+			writer.write(',');
+			writer.write(StringUtil.toCsvValue(dto.getExamName()));
+			writer.write(',');
+			writer.write(dto.getDate() == null ? "" : dateUtil.toString(dto.getDate(), "yyyy/MM/dd HH:mm"));
+			writer.write(',');
+			writer.write(toString(dto.getScore()));
+			writer.write(',');
+			writer.write(toString(dto.getTime()));
+			writer.write(',');
+			writer.write(toString(dto.getMarkFlg()));
+			writer.write(',');
+			writer.write(toString(dto.getQuestionId()));
+			writer.write(',');
+			writer.write(StringUtil.toCsvValue(dto.getQuestion()));
+			writer.write(',');
+			writer.write(toString(dto.getReply()));
+			writer.write(',');
+			writer.write(toString(dto.getAnswerNum()));
+			writer.write("\r\n");
+		}
+		writer.flush();
+	}
+
+	/**
+	 * 試験結果一覧をXLSXで出力<br>
+	 * SXSSFにより一定行数を超えた分は一時ファイルへ書き出される。
+	 * 
+	 * @param cursor
+	 * @param out
+	 * @throws IOException
+	 */
+	private void writeResultListXlsx(Cursor<ExamResultExportDto> cursor, OutputStream out)
+			throws IOException {
+
+		SXSSFWorkbook wb = new SXSSFWorkbook(SXSSF_WINDOW_SIZE);
+		try {
+			Sheet sheet = wb.createSheet("試験結果");
+			CellStyle dateStyle = wb.createCellStyle();
+			dateStyle.setDataFormat(wb.createDataFormat().getFormat("yyyy/mm/dd hh:mm"));
+
+			int rowNum = 0;
+			Row header = sheet.createRow(rowNum++);
+			for (int i = 0; i < EXPORT_HEADERS.length; i++) {
+				header.createCell(i).setCellValue(EXPORT_HEADERS[i]);
+			}
+			for (ExamResultExportDto dto : cursor) {
+				Row row = sheet.createRow(rowNum++);
+				setCellValue(row, 0, dto.getExamResultId());
+				setCellValue(row, 1, dto.getLmsUserId());
+				row.createCell(2).setCellValue(dto.getUserName());
+				row.createCell(3).setCellValue(dto.getExamName());
+				if (dto.getDate() != null) {
+					Cell cell = row.createCell(4);
+					cell.setCellValue(dto.getDate());
+					cell.setCellStyle(dateStyle);
+				}
+				setCellValue(row, 5, dto.getScore());
+				setCellValue(row, 6, dto.getTime());
+				setCellValue(row, 7, dto.getMarkFlg());
+				setCellValue(row, 8, dto.getQuestionId());
+				row.createCell(9).setCellValue(dto.getQuestion());
+				setCellValue(row, 10, dto.getReply());
+				setCellValue(row, 11, dto.getAnswerNum());
+			}
+			wb.write(out);
+		} finally {
+			// 一時ファイルの削除
+			wb.dispose();
+		}
+	}
+
+	/**
+	 * 数値セルの設定（nullの場合は設定しない）
+	 * 
+	 * @param row
+	 * @param column
+	 * @param value
+	 */
+	private void setCellValue(Row row, int column, Number value) {
+		if (value != null) {
+			row.createCell(column).setCellValue(value.doubleValue());
+		}
+	}
+
+	/**
+	 * 数値の文字列変換（nullの場合は空文字）
+	 * 
+	 * @param value
+	 * @return 文字列
+	 */
+	private String toString(Number value) {
+		return value == null ? "" : value.toString();
+	}
+
+}
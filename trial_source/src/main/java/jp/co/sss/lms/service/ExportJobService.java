@@ -0,0 +1,429 @@
+package jp.co.sss.lms.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import jp.co.sss.lms.dto.ExportJobDto;
+import jp.co.sss.lms.entity.TExportJob;
+import jp.co.sss.lms.mapper.MLmsUserMapper;
+import jp.co.sss.lms.mapper.TExportJobMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.ExcelUtil;
+import jp.co.sss.lms.util.MessageUtil;
+import jp.co.sss.lms.util.SettingProperties;
+
+/**
+ * エクスポートジョブサービス<br>
+ * 大きなダウンロードファイルは上限付きのスレッドプールで作成ファイル格納場所に作成し、
+ * 画面からの状態確認後にダウンロードさせる。<br>
+ * ジョブの状態はDBで管理し、作成ファイル格納場所を全サーバーから参照できる場所にしておけば、
+ * 状態確認・取消・ダウンロードはジョブを実行していないサーバーでも受け付けられる。
+ * 
+ * @author 東京ITスクール
+ */
+@Service
+public class ExportJobService {
+
+	/** 待機中または実行中の状態 */
+	private static final List<String> ACTIVE_STATUS_LIST = List.of(
+			Constants.EXPORT_JOB_STATUS_WAIT, Constants.EXPORT_JOB_STATUS_RUNNING);
+	/** 終了済の状態 */
+	private static final List<String> FINISHED_STATUS_LIST = List.of(
+			Constants.EXPORT_JOB_STATUS_COMPLETE, Constants.EXPORT_JOB_STATUS_FAILED,
+			Constants.EXPORT_JOB_STATUS_CANCELED);
+
+	@Autowired
+	private TExportJobMapper tExportJobMapper;
+	@Autowired
+	private MLmsUserMapper mLmsUserMapper;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private MessageUtil messageUtil;
+	@Autowired
+	private SettingProperties settingProperties;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** このサーバーで受け付けたジョブのジョブID毎の実行結果（取消時の中断用） */
+	private final Map<String, Future<?>> futureMap = new ConcurrentHashMap<>();
+	/** ジョブ実行用スレッドプール */
+	private ThreadPoolExecutor exportExecutor;
+	/** 作成ファイル格納場所 */
+	private Path exportPath;
+
+	/**
+	 * ファイル作成処理
+	 */
+	@FunctionalInterface
+	public interface Exporter {
+
+		/**
+		 * ファイル内容を書き出す
+		 * 
+		 * @param out
+		 * @return ダウンロード時のファイル名
+		 * @throws IOException
+		 */
+		String export(OutputStream out) throws IOException;
+	}
+
+	/**
+	 * スレッドプールと作成ファイル格納場所の作成
+	 * 
+	 * @throws IOException
+	 */
+	@PostConstruct
+	public void init() throws IOException {
+		SettingProperties.Export export = settingProperties.getExport();
+		int threads = Math.max(export.getThreads(), 1);
+		// ファイルの作成はCPUとメモリを使うため、仮想スレッドの設定に関わらずプラットフォームスレッドで実行する
+		exportExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(export.getQueue(), 1)),
+				Thread.ofPlatform().name("export-job-", 0).factory());
+
+		// 未設定の場合は一時ディレクトリ（1台構成のみ）
+		String exportDir = export.getDir();
+		exportPath = exportDir == null || exportDir.isBlank()
+				? Paths.get(System.getProperty("java.io.tmpdir"), "lms-export")
+				: Paths.get(exportDir);
+		Files.createDirectories(exportPath);
+	}
+
+	/**
+	 * ジョブの受付<br>
+	 * ユーザー毎の同時実行数はDBで数えるため、複数のサーバーにまたがっても上限を超えない。
+	 * 
+	 * @param lmsUserId
+	 * @param exporter
+	 * @return エクスポートジョブDTO
+	 */
+	public ExportJobDto submit(Integer lmsUserId, Exporter exporter) {
+
+		Date now = new Date();
+		TExportJob tExportJob = new TExportJob();
+		tExportJob.setExportJobId(UUID.randomUUID().toString());
+		tExportJob.setLmsUserId(lmsUserId);
+		tExportJob.setStatus(Constants.EXPORT_JOB_STATUS_WAIT);
+		tExportJob.setSubmitDate(now);
+		tExportJob.setLastModifiedDate(now);
+
+		int userLimit = settingProperties.getExport().getUser().getLimit();
+		// ユーザー毎の同時実行数を確認（ユーザーの行ロックで同じユーザーの受付を直列化する）
+		boolean accepted = transactionTemplate.execute(status -> {
+			mLmsUserMapper.getLmsUserIdForUpdate(lmsUserId);
+			if (tExportJobMapper.getCount(lmsUserId, ACTIVE_STATUS_LIST) >= userLimit) {
+				return false;
+			}
+			tExportJobMapper.insert(tExportJob);
+			return true;
+		});
+		if (!accepted) {
+			return getRejectedDto(messageUtil.getMessage("exportJob.limit",
+					new String[] { String.valueOf(userLimit) }));
+		}
+
+		// 登録をコミットしてから実行する（実行・取消より先に取消用の実行結果を保持する）
+		String exportJobId = tExportJob.getExportJobId();
+		FutureTask<Void> task = new FutureTask<>(() -> run(exportJobId, exporter), null);
+		futureMap.put(exportJobId, task);
+		try {
+			exportExecutor.execute(task);
+		} catch (RejectedExecutionException e) {
+			futureMap.remove(exportJobId);
+			tExportJobMapper.delete(List.of(exportJobId));
+			return getRejectedDto(messageUtil.getMessage("exportJob.busy"));
+		}
+		return toDto(tExportJob);
+	}
+
+	/**
+	 * ジョブの状態取得
+	 * 
+	 * @param jobId
+	 * @param lmsUserId
+	 * @return エクスポートジョブDTO（存在しない場合null）
+	 */
+	public ExportJobDto getStatus(String jobId, Integer lmsUserId) {
+		TExportJob tExportJob = getExportJob(jobId, lmsUserId);
+		return tExportJob == null ? null : toDto(tExportJob);
+	}
+
+	/**
+	 * ジョブの取消<br>
+	 * 他のサーバーで待機中・実行中のジョブは、そのサーバーが開始時・終了時に取消を確認して破棄する。
+	 * 
+	 * @param jobId
+	 * @param lmsUserId
+	 * @return エクスポートジョブDTO（存在しない場合null）
+	 */
+	public ExportJobDto cancel(String jobId, Integer lmsUserId) {
+		TExportJob tExportJob = getExportJob(jobId, lmsUserId);
+		if (tExportJob == null) {
+			return null;
+		}
+		if (updateStatus(tExportJob, Constants.EXPORT_JOB_STATUS_CANCELED, null,
+				ACTIVE_STATUS_LIST)) {
+			Future<?> future = futureMap.remove(jobId);
+			if (future != null) {
+				// 待機中の場合はキューから外し、後続のジョブの受付枠を空ける
+				if (future instanceof Runnable) {
+					exportExecutor.remove((Runnable) future);
+				}
+				future.cancel(true);
+			}
+		} else {
+			// 先に終了していた場合
+			tExportJob = getExportJob(jobId, lmsUserId);
+		}
+		return tExportJob == null ? null : toDto(tExportJob);
+	}
+
+	/**
+	 * 作成済みファイルのダウンロード
+	 * 
+	 * @param jobId
+	 * @param lmsUserId
+	 * @param response
+	 * @throws IOException
+	 */
+	public void download(String jobId, Integer lmsUserId, HttpServletResponse response)
+			throws IOException {
+
+		TExportJob tExportJob = getExportJob(jobId, lmsUserId);
+		Path file = tExportJob == null ? null : getFile(tExportJob.getExportJobId());
+		if (file == null || !Constants.EXPORT_JOB_STATUS_COMPLETE.equals(tExportJob.getStatus())
+				|| !Files.exists(file)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		ExcelUtil.setDownloadHeader(tExportJob.getFileName(), response);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+				WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+			long size = channel.size();
+			response.setContentLengthLong(size);
+			long position = 0;
+			while (position < size) {
+				position += channel.transferTo(position, size - position, out);
+			}
+		}
+	}
+
+	/**
+	 * このサーバーで待機中・実行中のジョブの生存通知<br>
+	 * 更新日時を更新し、長時間のジョブが期限切れジョブの削除で失敗とされないようにする。
+	 */
+	@Scheduled(fixedDelayString = "${setting.export.heartbeat}")
+	public void heartbeat() {
+		List<String> exportJobIdList = new ArrayList<>(futureMap.keySet());
+		if (exportJobIdList.isEmpty()) {
+			return;
+		}
+		tExportJobMapper.updateLastModifiedDate(exportJobIdList, ACTIVE_STATUS_LIST, new Date());
+	}
+
+	/**
+	 * 期限切れジョブの削除<br>
+	 * 生存通知が途絶えた（停止したサーバーに残された）待機中・実行中のジョブは失敗とし、終了後に期限が過ぎたジョブはファイルごと削除する。
+	 * 複数のサーバーで同時に実行しても結果は変わらない。
+	 */
+	@Scheduled(fixedDelayString = "${setting.export.expire}")
+	public void cleanUp() {
+		Date now = new Date();
+		Date limit = new Date(
+				now.getTime() - settingProperties.getExport().getExpire().toMillis());
+		tExportJobMapper.updateStaleStatus(ACTIVE_STATUS_LIST, limit,
+				Constants.EXPORT_JOB_STATUS_FAILED, now);
+
+		List<String> exportJobIdList = tExportJobMapper.getStaleIdList(FINISHED_STATUS_LIST,
+				limit);
+		if (exportJobIdList.isEmpty()) {
+			return;
+		}
+		for (String exportJobId : exportJobIdList) {
+			deleteFile(exportJobId);
+		}
+		tExportJobMapper.delete(exportJobIdList);
+	}
+
+	/**
+	 * スレッドプールの停止<br>
+	 * このサーバーで待機中・実行中のジョブは失敗とする。
+	 */
+	@PreDestroy
+	public void shutdown() {
+		exportExecutor.shutdownNow();
+		List<String> exportJobIdList = new ArrayList<>(futureMap.keySet());
+		for (String exportJobId : exportJobIdList) {
+			TExportJob tExportJob = new TExportJob();
+			tExportJob.setExportJobId(exportJobId);
+			try {
+				if (updateStatus(tExportJob, Constants.EXPORT_JOB_STATUS_FAILED, null,
+						ACTIVE_STATUS_LIST)) {
+					deleteFile(exportJobId);
+				}
+			} catch (RuntimeException e) {
+				logger.warn("エクスポートジョブの停止に失敗しました。jobId=" + exportJobId, e);
+			}
+		}
+		futureMap.clear();
+	}
+
+	/**
+	 * ジョブの実行
+	 * 
+	 * @param exportJobId
+	 * @param exporter
+	 */
+	private void run(String exportJobId, Exporter exporter) {
+		try {
+			TExportJob tExportJob = new TExportJob();
+			tExportJob.setExportJobId(exportJobId);
+			// 待機中に取り消された場合は実行しない
+			if (!updateStatus(tExportJob, Constants.EXPORT_JOB_STATUS_RUNNING, null,
+					List.of(Constants.EXPORT_JOB_STATUS_WAIT))) {
+				return;
+			}
+
+			String fileName;
+			try (OutputStream out = Files.newOutputStream(getFile(exportJobId))) {
+				fileName = exporter.export(out);
+			} catch (Exception e) {
+				if (updateStatus(tExportJob, Constants.EXPORT_JOB_STATUS_FAILED, null,
+						List.of(Constants.EXPORT_JOB_STATUS_RUNNING))) {
+					logger.error("エクスポートに失敗しました。jobId=" + exportJobId, e);
+				}
+				deleteFile(exportJobId);
+				return;
+			}
+
+			// 実行中に取り消された場合は破棄する
+			if (!updateStatus(tExportJob, Constants.EXPORT_JOB_STATUS_COMPLETE, fileName,
+					List.of(Constants.EXPORT_JOB_STATUS_RUNNING))) {
+				deleteFile(exportJobId);
+			}
+		} catch (RuntimeException e) {
+			logger.error("エクスポートジョブの状態更新に失敗しました。jobId=" + exportJobId, e);
+			deleteFile(exportJobId);
+		} finally {
+			futureMap.remove(exportJobId);
+		}
+	}
+
+	/**
+	 * ジョブの状態更新
+	 * 
+	 * @param tExportJob
+	 * @param status
+	 * @param fileName
+	 * @param currentStatusList 更新前の状態（いずれでもない場合は更新しない）
+	 * @return 更新した場合true
+	 */
+	private boolean updateStatus(TExportJob tExportJob, String status, String fileName,
+			List<String> currentStatusList) {
+		Date now = new Date();
+		tExportJob.setStatus(status);
+		tExportJob.setFileName(fileName);
+		tExportJob.setFinishDate(Constants.EXPORT_JOB_STATUS_RUNNING.equals(status) ? null : now);
+		tExportJob.setLastModifiedDate(now);
+		return tExportJobMapper.updateStatus(tExportJob, currentStatusList) > 0;
+	}
+
+	/**
+	 * 本人のジョブを取得
+	 * 
+	 * @param jobId
+	 * @param lmsUserId
+	 * @return エクスポートジョブエンティティ（存在しない場合null）
+	 */
+	private TExportJob getExportJob(String jobId, Integer lmsUserId) {
+		if (jobId == null || lmsUserId == null) {
+			return null;
+		}
+		return tExportJobMapper.getExportJob(jobId, lmsUserId);
+	}
+
+	/**
+	 * エクスポートジョブDTOに変換
+	 * 
+	 * @param tExportJob
+	 * @return エクスポートジョブDTO
+	 */
+	private ExportJobDto toDto(TExportJob tExportJob) {
+		ExportJobDto exportJobDto = new ExportJobDto();
+		exportJobDto.setJobId(tExportJob.getExportJobId());
+		exportJobDto.setStatus(tExportJob.getStatus());
+		exportJobDto.setFileName(tExportJob.getFileName());
+		exportJobDto.setSubmitDate(tExportJob.getSubmitDate());
+		exportJobDto.setFinishDate(tExportJob.getFinishDate());
+		return exportJobDto;
+	}
+
+	/**
+	 * 受付不可のエクスポートジョブDTOを作成
+	 * 
+	 * @param message
+	 * @return エクスポートジョブDTO
+	 */
+	private ExportJobDto getRejectedDto(String message) {
+		ExportJobDto exportJobDto = new ExportJobDto();
+		exportJobDto.setStatus(Constants.EXPORT_JOB_STATUS_REJECTED);
+		exportJobDto.setMessage(message);
+		return exportJobDto;
+	}
+
+	/**
+	 * 作成ファイルのパスを取得
+	 * 
+	 * @param exportJobId
+	 * @return 作成ファイルのパス
+	 */
+	private Path getFile(String exportJobId) {
+		return exportPath.resolve("lms-export-" + exportJobId + ".tmp");
+	}
+
+	/**
+	 * 作成ファイルの削除
+	 * 
+	 * @param exportJobId
+	 */
+	private void deleteFile(String exportJobId) {
+		Path file = getFile(exportJobId);
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.warn("一時ファイルの削除に失敗しました。" + file, e);
+		}
+	}
+
+}
@@ -1,14 +1,24 @@
 package jp.co.sss.lms.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 import jp.co.sss.lms.dto.InfoDto;
 import jp.co.sss.lms.entity.TInfo;
 import jp.co.sss.lms.mapper.TInfoMapper;
+import jp.co.sss.lms.util.SettingProperties;
+import net.arnx.jsonic.JSON;
 
 /**
- * お知らせ情報サービス
+ * お知らせ情報サービス<br>
+ * 最新のお知らせはアプリケーション全体で共有し、保持期間が過ぎたら読み直す。<br>
+ * お知らせの更新は保持期間（setting.info.cache.expire）が過ぎるまで反映されない。
+ * 複数台構成でも各サーバーが同じ期間で読み直すため、更新時の破棄は行わない。
  * 
  * @author 東京ITスクール
  */
@@ -17,13 +27,54 @@ public class InfoService {
 
 	@Autowired
 	private TInfoMapper tInfoMapper;
+	@Autowired
+	private SettingProperties settingProperties;
+
+	/** 最新のお知らせ */
+	private volatile CachedInfo cachedInfo;
+	/** 読み込み中の排他（仮想スレッドを固定しないようsynchronizedは使わない） */
+	private final Lock loadLock = new ReentrantLock();
 
 	/**
-	 * お知らせ情報取得
+	 * お知らせ情報取得<br>
+	 * 返却するDTOは共有しているため変更しないこと。
 	 * 
 	 * @return お知らせ情報
 	 */
 	public InfoDto getInfo() {
+		return getCachedInfo().getInfoDto();
+	}
+
+	/**
+	 * 保持しているお知らせ情報の取得
+	 * 
+	 * @return お知らせ情報
+	 */
+	public CachedInfo getCachedInfo() {
+		CachedInfo current = cachedInfo;
+		long cacheExpire = settingProperties.getInfo().getCache().getExpire().toMillis();
+		if (current != null && System.currentTimeMillis() - current.loadTime < cacheExpire) {
+			return current;
+		}
+		loadLock.lock();
+		try {
+			current = cachedInfo;
+			if (current == null || System.currentTimeMillis() - current.loadTime >= cacheExpire) {
+				current = load();
+				cachedInfo = current;
+			}
+			return current;
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	/**
+	 * お知らせ情報の読み込み
+	 * 
+	 * @return お知らせ情報
+	 */
+	private CachedInfo load() {
 
 		// 最新のお知らせを取得
 		TInfo tInfo = tInfoMapper.findBySingleResult();
@@ -35,7 +86,58 @@ public class InfoService {
 			infoDto.setLastModifiedDate(tInfo.getLastModifiedDate());
 		}
 
-		return infoDto;
+		return new CachedInfo(infoDto, JSON.encode(infoDto).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 保持用のお知らせ情報<br>
+	 * JSONとETagは読み込み時に一度だけ作成する。
+	 */
+	public static final class CachedInfo {
+
+		/** お知らせDTO */
+		private final InfoDto infoDto;
+		/** JSON形式のお知らせ情報 */
+		private final byte[] json;
+		/** ETag */
+		private final String etag;
+		/** 読み込み日時 */
+		private final long loadTime = System.currentTimeMillis();
+
+		private CachedInfo(InfoDto infoDto, byte[] json) {
+			this.infoDto = infoDto;
+			this.json = json;
+			this.etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+		}
+
+		public InfoDto getInfoDto() {
+			return infoDto;
+		}
+
+		/**
+		 * JSON形式のお知らせ情報の取得<br>
+		 * 共有している配列のため変更しないこと。
+		 * 
+		 * @return JSON形式のお知らせ情報
+		 */
+		public byte[] getJson() {
+			return json;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		/**
+		 * 最終更新日時の取得
+		 * 
+		 * @return 最終更新日時（お知らせがない場合-1）
+		 */
+		public long getLastModified() {
+			return infoDto.getLastModifiedDate() != null
+					? infoDto.getLastModifiedDate().getTime()
+					: -1;
+		}
 	}
 
 }
@@ -4,7 +4,6 @@ import java.util.Calendar;
 
 import jakarta.servlet.http.HttpSession;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -78,7 +77,7 @@ public class LoginService {
 			return messageUtil.getMessage(Constants.VALID_KEY_LOGIN_PLACENODISPLAY);
 		} else {
 			// ログイン情報をセッションに格納
-			BeanUtils.copyProperties(loginUser, loginUserDto);
+			loginUserDto.copyFrom(loginUser);
 			loginUserDto.setPasswordNgCount(0);
 			loginUserDto.setPasswordNgDate("");
 			session.setAttribute("loginUserDto", loginUserDto);
@@ -99,7 +98,7 @@ public class LoginService {
 			return "";
 		}
 		// セッションに格納
-		BeanUtils.copyProperties(loginUser, loginUserDto);
+		loginUserDto.copyFrom(loginUser);
 		loginUserDto.setPasswordNgCount(0);
 		loginUserDto.setPasswordNgDate("");
 		session.setAttribute("loginUserDto", loginUserDto);
@@ -0,0 +1,228 @@
+package jp.co.sss.lms.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jp.co.sss.lms.entity.TMailQue;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.MailUtil;
+import jp.co.sss.lms.util.SettingProperties;
+
+/**
+ * メール送信キュー配信サービス<br>
+ * メール送信キューを定期的に取得してまとめて送信する。
+ * 行ロックで確保したキューのみ送信するため、複数ノードで同時に動作しても二重送信しない。
+ * 確保したキューはロック期限の半分までに送信し終え、送信しきれなかった分は解放して次の確保に回す。<br>
+ * 配信は長時間かかることがあるため、他の定期処理を止めないよう専用のスレッドで実行する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class MailDispatchService {
+
+	@Autowired
+	private MailService mailService;
+	@Autowired
+	private MailUtil mailUtil;
+	@Autowired
+	private SettingProperties settingProperties;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** 配信用スレッド */
+	private ScheduledExecutorService dispatchExecutor;
+
+	/**
+	 * 配信用スレッドの作成と配信の開始
+	 */
+	@PostConstruct
+	public void init() {
+		dispatchExecutor = Executors.newSingleThreadScheduledExecutor(
+				Thread.ofPlatform().name("mail-dispatch").factory());
+		long wait = settingProperties.getMail().getQue().getWait().toMillis();
+		dispatchExecutor.scheduleWithFixedDelay(() -> {
+			// 例外で以降の配信が止まらないようにする
+			try {
+				dispatch();
+			} catch (RuntimeException e) {
+				logger.error("メール送信キューの配信に失敗しました。", e);
+			}
+		}, wait, wait, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 配信用スレッドの停止
+	 */
+	@PreDestroy
+	public void shutdown() {
+		dispatchExecutor.shutdownNow();
+	}
+
+	/**
+	 * メール送信キューの配信<br>
+	 * 送信対象がなくなるまで一括送信件数ずつ送信する。
+	 */
+	public void dispatch() {
+		int batchSize = settingProperties.getMail().getBatch().getSize();
+		Duration lockTimeout = settingProperties.getMail().getLock().getTimeout();
+		List<TMailQue> tMailQueList;
+		do {
+			// ロック期限を過ぎて他のノードに再送されないよう、送信期限はロック期限の半分とする
+			long deadline = System.nanoTime() + lockTimeout.toNanos() / 2;
+			try {
+				tMailQueList = mailService.lockMailQue(batchSize, lockTimeout.toMillis());
+			} catch (RuntimeException e) {
+				logger.error("メール送信キューの取得に失敗しました。", e);
+				return;
+			}
+			send(tMailQueList, deadline);
+		} while (tMailQueList.size() >= batchSize && !Thread.currentThread().isInterrupted());
+	}
+
+	/**
+	 * メール送信キューの送信と送信結果の更新
+	 *
+	 * @param tMailQueList
+	 * @param deadline 送信期限（System.nanoTime()の値）
+	 */
+	private void send(List<TMailQue> tMailQueList, long deadline) {
+		if (tMailQueList.isEmpty()) {
+			return;
+		}
+		// 添付ファイルは送信できないため、添付ファイル付きのメールは送信せずに送信失敗とする
+		List<Integer> mailQueIdList = new ArrayList<>(tMailQueList.size());
+		for (TMailQue tMailQue : tMailQueList) {
+			mailQueIdList.add(tMailQue.getMailQueId());
+		}
+		Set<Integer> attachedIdSet = new HashSet<>(
+				mailService.getAttachedMailQueIdList(mailQueIdList));
+		List<TMailQue> sendTargetList = new ArrayList<>(tMailQueList.size());
+		for (TMailQue tMailQue : tMailQueList) {
+			if (attachedIdSet.contains(tMailQue.getMailQueId())) {
+				tMailQue.setSendStatus(Constants.CODE_VAL_MAIL_SEND_STATUS_FAILED);
+				logger.error("添付ファイル付きのメールは送信できません。メール送信キューID="
+						+ tMailQue.getMailQueId());
+				updateSendResult(tMailQue);
+			} else {
+				sendTargetList.add(tMailQue);
+			}
+		}
+		if (sendTargetList.isEmpty()) {
+			return;
+		}
+
+		List<SimpleMailMessage> msgList = new ArrayList<>(sendTargetList.size());
+		for (TMailQue tMailQue : sendTargetList) {
+			msgList.add(mailUtil.createMail(toAddressArray(tMailQue.getMailAddressTo()),
+					toAddressArray(tMailQue.getMailAddressCc()),
+					toAddressArray(tMailQue.getMailAddressBcc()), tMailQue.getSubject(),
+					tMailQue.getBody()));
+		}
+
+		// 送信フラグが0の場合は送信せずに送信済とする（テスト環境用）
+		List<Exception> resultList;
+		if (settingProperties.getMail().getSend().getFlg() == Constants.DB_FLG_TRUE) {
+			resultList = mailUtil.sendMail(msgList, deadline);
+		} else {
+			logger.info("メール送信フラグが無効のため送信を省略しました。件数=" + msgList.size());
+			resultList = Collections.nCopies(msgList.size(), null);
+		}
+
+		int failLimit = settingProperties.getMail().getFail().getNotification().getPeriod();
+		Date now = new Date();
+		for (int i = 0; i < resultList.size(); i++) {
+			TMailQue tMailQue = sendTargetList.get(i);
+			Exception e = resultList.get(i);
+			if (e == null) {
+				tMailQue.setSendStatus(Constants.CODE_VAL_MAIL_SEND_STATUS_SENT);
+				tMailQue.setSendDate(now);
+			} else {
+				int retryCount = tMailQue.getRetryCount() == null ? 1
+						: tMailQue.getRetryCount() + 1;
+				tMailQue.setRetryCount(retryCount);
+				if (retryCount >= failLimit) {
+					tMailQue.setSendStatus(Constants.CODE_VAL_MAIL_SEND_STATUS_FAILED);
+					logger.error("メールの送信に失敗しました。再送を中止します。メール送信キューID="
+							+ tMailQue.getMailQueId() + " 失敗回数=" + retryCount, e);
+				} else {
+					tMailQue.setNextSendDate(new Date(now.getTime() + getRetryWait(retryCount)));
+					logger.warn("メールの送信に失敗しました。メール送信キューID=" + tMailQue.getMailQueId()
+							+ " 失敗回数=" + retryCount + " " + e.getMessage());
+				}
+			}
+			updateSendResult(tMailQue);
+		}
+
+		// 送信期限までに送信しなかった分は解放する
+		if (resultList.size() < sendTargetList.size()) {
+			List<Integer> unsentIdList = new ArrayList<>();
+			for (TMailQue tMailQue : sendTargetList.subList(resultList.size(),
+					sendTargetList.size())) {
+				unsentIdList.add(tMailQue.getMailQueId());
+			}
+			try {
+				mailService.unlockMailQue(unsentIdList);
+			} catch (RuntimeException e) {
+				logger.error("メール送信キューの解放に失敗しました。件数=" + unsentIdList.size(), e);
+			}
+		}
+	}
+
+	/**
+	 * 送信結果の更新<br>
+	 * 更新できなかった行はロック期限後に再送される。
+	 *
+	 * @param tMailQue
+	 */
+	private void updateSendResult(TMailQue tMailQue) {
+		try {
+			mailService.updateSendResult(tMailQue);
+		} catch (RuntimeException e) {
+			logger.error("メール送信結果の更新に失敗しました。メール送信キューID=" + tMailQue.getMailQueId(), e);
+		}
+	}
+
+	/**
+	 * 再送までの待ち時間の取得<br>
+	 * 失敗回数に応じて倍々に延ばし、上限で打ち切る。
+	 *
+	 * @param retryCount
+	 * @return 待ち時間（ミリ秒）
+	 */
+	private long getRetryWait(int retryCount) {
+		SettingProperties.Retry retry = settingProperties.getMail().getRetry();
+		long wait = retry.getInterval().toMillis() << Math.min(retryCount - 1, 30);
+		return Math.min(wait, retry.getMax().getInterval().toMillis());
+	}
+
+	/**
+	 * メールアドレスの分割
+	 *
+	 * @param address 区切り文字で連結したメールアドレス
+	 * @return メールアドレス配列（未設定の場合null）
+	 */
+	private String[] toAddressArray(String address) {
+		if (StringUtils.isBlank(address)) {
+			return null;
+		}
+		return address.split(Constants.SEPARATE_ADDRESS_REGEX_JUDGE_CHARACTER);
+	}
+
+}
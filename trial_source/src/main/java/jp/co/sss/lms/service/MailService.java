@@ -1,14 +1,17 @@
 package jp.co.sss.lms.service;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jp.co.sss.lms.dto.FileDownloadDto;
 import jp.co.sss.lms.dto.FileDto;
 import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.dto.MailDto;
 import jp.co.sss.lms.entity.TMailQue;
 import jp.co.sss.lms.entity.TMailQueFile;
 import jp.co.sss.lms.mapper.TMailQueFileMapper;
@@ -25,6 +28,9 @@ import jp.co.sss.lms.util.LoginUserUtil;
 @Service
 public class MailService {
 
+	/** 一括登録の最大件数 */
+	private static final int INSERT_BATCH_SIZE = 500;
+
 	@Autowired
 	private TMailQueMapper tMailQueMapper;
 	@Autowired
@@ -45,46 +51,156 @@ public class MailService {
 	 * @param cc
 	 * @param fileDtoList
 	 */
+	@Transactional
 	public void registMailQue(String to, String subject, String body, String cc,
 			List<FileDto> fileDtoList) {
+		MailDto mailDto = new MailDto();
+		mailDto.setMailAddressTo(to);
+		mailDto.setMailAddressCc(cc);
+		mailDto.setSubject(subject);
+		mailDto.setBody(body);
+		registMailQueList(List.of(mailDto), fileDtoList);
+	}
+
+	/**
+	 * メールキュー一括登録<br>
+	 * 全てのメールに同じ添付ファイルを紐づけ、メール送信キューとメール送信キュー・ファイルを
+	 * それぞれまとめて登録する。
+	 * 
+	 * @param mailDtoList
+	 * @param fileDtoList
+	 * @return 採番したメール送信キューIDリスト（メールDTOリストと同順）
+	 */
+	@Transactional
+	public List<Integer> registMailQueList(List<MailDto> mailDtoList, List<FileDto> fileDtoList) {
+		List<Integer> mailQueIdList = new ArrayList<>(mailDtoList.size());
+		if (mailDtoList.isEmpty()) {
+			return mailQueIdList;
+		}
 
 		Date now = new Date();
+		Integer lmsUserId = loginUserUtil.isLogin() ? loginUserDto.getLmsUserId() : null;
+
 		// メール送信キューテーブル登録
-		TMailQue tMailQue = new TMailQue();
-		tMailQue.setMailAddressTo(to);
-		tMailQue.setMailAddressCc(cc);
-		tMailQue.setSubject(subject);
-		tMailQue.setBody(body);
-		tMailQue.setDeleteFlg(Constants.DB_FLG_FALSE);
-		tMailQue.setFirstCreateDate(now);
-		tMailQue.setLastModifiedDate(now);
-		if (loginUserUtil.isLogin()) {
-			tMailQue.setFirstCreateUser(loginUserDto.getLmsUserId());
-			tMailQue.setLastModifiedUser(loginUserDto.getLmsUserId());
-			tMailQueMapper.insert(tMailQue);
-		} else {
-			tMailQueMapper.insert(tMailQue);
+		List<TMailQue> tMailQueList = new ArrayList<>(mailDtoList.size());
+		for (MailDto mailDto : mailDtoList) {
+			TMailQue tMailQue = new TMailQue();
+			tMailQue.setMailAddressTo(mailDto.getMailAddressTo());
+			tMailQue.setMailAddressCc(mailDto.getMailAddressCc());
+			tMailQue.setMailAddressBcc(mailDto.getMailAddressBcc());
+			tMailQue.setSubject(mailDto.getSubject());
+			tMailQue.setBody(mailDto.getBody());
+			tMailQue.setSendStatus(Constants.CODE_VAL_MAIL_SEND_STATUS_WAIT);
+			tMailQue.setRetryCount(0);
+			tMailQue.setNextSendDate(now);
+			tMailQue.setDeleteFlg(Constants.DB_FLG_FALSE);
+			tMailQue.setFirstCreateUser(lmsUserId);
+			tMailQue.setFirstCreateDate(now);
+			tMailQue.setLastModifiedUser(lmsUserId);
+			tMailQue.setLastModifiedDate(now);
+			tMailQueList.add(tMailQue);
+		}
+		for (int i = 0; i < tMailQueList.size(); i += INSERT_BATCH_SIZE) {
+			tMailQueMapper.insertBulk(
+					tMailQueList.subList(i, Math.min(i + INSERT_BATCH_SIZE, tMailQueList.size())));
+		}
+		for (TMailQue tMailQue : tMailQueList) {
+			mailQueIdList.add(tMailQue.getMailQueId());
 		}
 
 		// メール送信キュー・ファイルテーブル登録
-		if (fileDtoList != null) {
-			for (FileDto fileDto : fileDtoList) {
+		if (fileDtoList == null || fileDtoList.isEmpty()) {
+			return mailQueIdList;
+		}
+		List<Integer> fileIdList = new ArrayList<>(fileDtoList.size());
+		for (FileDto fileDto : fileDtoList) {
+			fileIdList.add(fileUtil.getPlaneFileId(new FileDownloadDto(), fileDto.getFileId()));
+		}
+		List<TMailQueFile> tMailQueFileList = new ArrayList<>(INSERT_BATCH_SIZE);
+		for (Integer mailQueId : mailQueIdList) {
+			for (Integer fileId : fileIdList) {
 				TMailQueFile tMailQueFile = new TMailQueFile();
-				tMailQueFile.setMailQueId(tMailQue.getMailQueId());
-				tMailQueFile.setFileId(
-						fileUtil.getPlaneFileId(new FileDownloadDto(), fileDto.getFileId()));
+				tMailQueFile.setMailQueId(mailQueId);
+				tMailQueFile.setFileId(fileId);
 				tMailQueFile.setDeleteFlg(Constants.DB_FLG_FALSE);
+				tMailQueFile.setFirstCreateUser(lmsUserId);
 				tMailQueFile.setFirstCreateDate(now);
+				tMailQueFile.setLastModifiedUser(lmsUserId);
 				tMailQueFile.setLastModifiedDate(now);
-				if (loginUserUtil.isLogin()) {
-					tMailQueFile.setFirstCreateUser(loginUserDto.getLmsUserId());
-					tMailQueFile.setLastModifiedUser(loginUserDto.getLmsUserId());
-					tMailQueFileMapper.insert(tMailQueFile);
-				} else {
-					tMailQueFileMapper.insert(tMailQueFile);
+				tMailQueFileList.add(tMailQueFile);
+				if (tMailQueFileList.size() >= INSERT_BATCH_SIZE) {
+					tMailQueFileMapper.insertBulk(tMailQueFileList);
+					tMailQueFileList = new ArrayList<>(INSERT_BATCH_SIZE);
 				}
 			}
 		}
+		if (!tMailQueFileList.isEmpty()) {
+			tMailQueFileMapper.insertBulk(tMailQueFileList);
+		}
+		return mailQueIdList;
+	}
+
+	/**
+	 * 送信対象のメール送信キュー確保<br>
+	 * 行ロックで他のノードと取り合わないようにし、確保した行は次回送信日時をロック期限まで進める。
+	 * 期限までに送信結果が更新されなかった行は再度送信対象となる。
+	 * 
+	 * @param limit
+	 * @param lockTimeout ロック期限（ミリ秒）
+	 * @return メール送信キューリスト
+	 */
+	@Transactional
+	public List<TMailQue> lockMailQue(int limit, long lockTimeout) {
+		Date now = new Date();
+		List<TMailQue> tMailQueList = tMailQueMapper.getSendTargetListForUpdate(
+				Constants.CODE_VAL_MAIL_SEND_STATUS_WAIT, now, limit, Constants.DB_FLG_FALSE);
+		if (tMailQueList.isEmpty()) {
+			return tMailQueList;
+		}
+		List<Integer> mailQueIdList = new ArrayList<>(tMailQueList.size());
+		for (TMailQue tMailQue : tMailQueList) {
+			mailQueIdList.add(tMailQue.getMailQueId());
+		}
+		tMailQueMapper.updateNextSendDate(mailQueIdList, new Date(now.getTime() + lockTimeout),
+				now);
+		return tMailQueList;
+	}
+
+	/**
+	 * 確保したメール送信キューの解放<br>
+	 * 送信しなかった行を次回の配信ですぐに送信対象とする。
+	 * 
+	 * @param mailQueIdList
+	 */
+	public void unlockMailQue(List<Integer> mailQueIdList) {
+		if (mailQueIdList.isEmpty()) {
+			return;
+		}
+		Date now = new Date();
+		tMailQueMapper.updateNextSendDate(mailQueIdList, now, now);
+	}
+
+	/**
+	 * 添付ファイル付きのメール送信キューIDの取得
+	 * 
+	 * @param mailQueIdList
+	 * @return メール送信キューIDリスト
+	 */
+	public List<Integer> getAttachedMailQueIdList(List<Integer> mailQueIdList) {
+		if (mailQueIdList.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return tMailQueFileMapper.getMailQueIdList(mailQueIdList, Constants.DB_FLG_FALSE);
+	}
+
+	/**
+	 * メール送信結果の更新
+	 * 
+	 * @param tMailQue
+	 */
+	public void updateSendResult(TMailQue tMailQue) {
+		tMailQue.setLastModifiedDate(new Date());
+		tMailQueMapper.updateSendResult(tMailQue);
 	}
 
 }
@@ -1,19 +1,29 @@
 package jp.co.sss.lms.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.servlet.http.HttpServletResponse;
+import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.dto.MeetingDetailDto;
 import jp.co.sss.lms.dto.MeetingDownloadDto;
 import jp.co.sss.lms.dto.WorkbookDto;
 import jp.co.sss.lms.mapper.TMeetingMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.ExcelTemplateCache;
 import jp.co.sss.lms.util.ExcelUtil;
-import jp.co.sss.lms.util.MessageUtil;
+import jp.co.sss.lms.util.SettingProperties;
 
 /**
  * 面談情報サービス
@@ -26,9 +36,13 @@ public class MeetingService {
 	@Autowired
 	private TMeetingMapper tMeetingMapper;
 	@Autowired
-	private MessageUtil messageUtil;
+	private SettingProperties settingProperties;
 	@Autowired
 	private DateUtil dateUtil;
+	@Autowired
+	private ExcelTemplateCache excelTemplateCache;
+	@Autowired
+	private LoginUserDto loginUserDto;
 
 	/**
 	 * 面談記録ファイルのダウンロード
@@ -39,48 +53,93 @@ public class MeetingService {
 	 */
 	public void downloadMeetingFile(Integer meetingId, HttpServletResponse response)
 			throws IOException {
+		WorkbookDto workbookDto = getWorkbookDto(meetingId);
+		ExcelUtil.downloadBook(workbookDto, response);
+	}
+
+	/**
+	 * コースの面談記録一括ダウンロード
+	 * 
+	 * @param courseId
+	 * @param response
+	 * @throws IOException
+	 */
+	public void downloadCourseMeetingFile(Integer courseId, HttpServletResponse response)
+			throws IOException {
+
+		ExcelUtil.setZipDownloadHeader("面談記録", response);
+		writeCourseMeetingFile(courseId, loginUserDto.getAccountId(), response.getOutputStream());
+	}
+
+	/**
+	 * コースの面談記録をzipにまとめて書き出す<br>
+	 * 1件ずつワークブックを作成してzipへ書き出すため、同時に保持するワークブックは1件のみとなる。
+	 * 
+	 * @param courseId
+	 * @param accountId
+	 * @param out
+	 * @throws IOException
+	 */
+	public void writeCourseMeetingFile(Integer courseId, Integer accountId, OutputStream out)
+			throws IOException {
+
+		List<Integer> meetingIdList = tMeetingMapper.getMeetingIdListByCourseId(courseId,
+				accountId, Constants.DB_FLG_FALSE);
+
+		try (ZipOutputStream zos = new ZipOutputStream(out, Charset.forName("MS932"))) {
+			Set<String> wbNameSet = new HashSet<>();
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			for (Integer meetingId : meetingIdList) {
+				WorkbookDto workbookDto = getWorkbookDto(meetingId);
+				baos.reset();
+				workbookDto.getWb().write(baos);
+
+				zos.putNextEntry(
+						new ZipEntry(ExcelUtil.getUniqueName(wbNameSet, workbookDto.getWbName())));
+				baos.writeTo(zos);
+				zos.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * 面談ファイルのワークブックDTO取得
+	 * 
+	 * @param meetingId
+	 * @return ワークブックDTO
+	 */
+	public WorkbookDto getWorkbookDto(Integer meetingId) {
 
 		// 面談ダウンロードDTOの取得
 		MeetingDownloadDto meetingDownloadDto = tMeetingMapper.getMeetingDownloadDto(meetingId,
 				Constants.DB_FLG_FALSE);
 
 		// テンプレートファイルのパスを設定
-		String commonFileDir = messageUtil.getMessage("setting.file.common.dir");
+		String commonFileDir = settingProperties.getFile().getCommon().getDir();
 		String excelFilePath = commonFileDir + "/" + meetingDownloadDto.getFileName();
-		ExcelUtil excelUtil = new ExcelUtil(excelFilePath);
+		ExcelUtil excelUtil = new ExcelUtil(excelTemplateCache.getWorkbook(excelFilePath));
+		ExcelUtil.SheetWriter writer = excelUtil.getSheetWriter(meetingDownloadDto.getSheetName());
 
 		// 企業名
-		excelUtil.setVal(meetingDownloadDto.getSheetName(), meetingDownloadDto.getRowCompany(),
-				meetingDownloadDto.getClmCompany(), meetingDownloadDto.getCompanyName());
+		writer.row(meetingDownloadDto.getRowCompany()).setVal(meetingDownloadDto.getClmCompany(),
+				meetingDownloadDto.getCompanyName());
 		// ユーザー名
-		excelUtil.setVal(meetingDownloadDto.getSheetName(), meetingDownloadDto.getRowUser(),
-				meetingDownloadDto.getClmUser(), meetingDownloadDto.getInterviewee());
-		// 面談実施日
-		excelUtil.setVal(meetingDownloadDto.getSheetName(), meetingDownloadDto.getRowDate(),
-				meetingDownloadDto.getClmDate(), meetingDownloadDto.getInterviewDate());
-		// 面談実施者
-		excelUtil.setVal(meetingDownloadDto.getSheetName(), meetingDownloadDto.getRowDate(),
-				meetingDownloadDto.getClmUser(), meetingDownloadDto.getInterviewer());
+		writer.row(meetingDownloadDto.getRowUser()).setVal(meetingDownloadDto.getClmUser(),
+				meetingDownloadDto.getInterviewee());
+		// 面談実施日・面談実施者
+		writer.row(meetingDownloadDto.getRowDate())
+				.setVal(meetingDownloadDto.getClmDate(), meetingDownloadDto.getInterviewDate())
+				.setVal(meetingDownloadDto.getClmUser(), meetingDownloadDto.getInterviewer());
 		// 面談内容
 		int rowTechnical = meetingDownloadDto.getRowMeeting() - 1;
 		int rowHuman = rowTechnical + 5;
 		for (MeetingDetailDto meetingDetailDto : meetingDownloadDto.getMeetingDetailDtoList()) {
-			int row = meetingDetailDto.getQuestionType() == 0 ? rowTechnical : rowHuman;
+			int row = meetingDetailDto.getQuestionType() == 0 ? ++rowTechnical : ++rowHuman;
 			int col = meetingDownloadDto.getClmMeeting();
-			// 質問
-			excelUtil.setVal(meetingDownloadDto.getSheetName(), ++row, col,
-					meetingDetailDto.getQuestion());
-			// 回答
-			excelUtil.setVal(meetingDownloadDto.getSheetName(), row, ++col,
-					meetingDetailDto.getAnswer());
-			// フォロー
-			excelUtil.setVal(meetingDownloadDto.getSheetName(), row, ++col,
-					meetingDetailDto.getFollow());
-			if (meetingDetailDto.getQuestionType() == 0) {
-				rowTechnical = row;
-			} else {
-				rowHuman = row;
-			}
+			// 質問・回答・フォロー
+			writer.row(row).setVal(col, meetingDetailDto.getQuestion())
+					.setVal(col + 1, meetingDetailDto.getAnswer())
+					.setVal(col + 2, meetingDetailDto.getFollow());
 		}
 
 		WorkbookDto workbookDto = new WorkbookDto();
@@ -104,7 +163,7 @@ public class MeetingService {
 				+ dateUtil.toString(meetingDownloadDto.getInterviewDate(), "YYYYMMdd") + "_"
 				+ companyName + "_" + userName + "." + fileName[fileName.length - 1]);
 
-		ExcelUtil.downloadBook(workbookDto, response);
+		return workbookDto;
 	}
 
 }
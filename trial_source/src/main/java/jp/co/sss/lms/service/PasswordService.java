@@ -2,11 +2,11 @@ package jp.co.sss.lms.service;
 
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
@@ -23,9 +23,10 @@ import jp.co.sss.lms.mapper.MUserMapper;
 import jp.co.sss.lms.mapper.TTemporaryPassStorageMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.DateUtil;
-import jp.co.sss.lms.util.MailUtil;
+import jp.co.sss.lms.util.MailTemplateUtil;
 import jp.co.sss.lms.util.MessageUtil;
 import jp.co.sss.lms.util.PasswordUtil;
+import jp.co.sss.lms.util.SettingProperties;
 
 /**
  * パスワード情報サービス
@@ -44,6 +45,8 @@ public class PasswordService {
 	@Autowired
 	private MessageUtil messageUtil;
 	@Autowired
+	private SettingProperties settingProperties;
+	@Autowired
 	private DateUtil dateUtil;
 	@Autowired
 	private LoginMapper loginMapper;
@@ -54,7 +57,7 @@ public class PasswordService {
 	@Autowired
 	private MailService mailService;
 	@Autowired
-	private MailUtil mailUtil;
+	private MailTemplateUtil mailTemplateUtil;
 
 	/**
 	 * パスワード相関チェック（パスワード変更）
@@ -112,7 +115,7 @@ public class PasswordService {
 			LoginUser loginUser = loginMapper.getLoginDetailByLmsUserId(loginUserDto.getLmsUserId(),
 					Constants.DB_FLG_FALSE);
 			if (loginUser != null) {
-				BeanUtils.copyProperties(loginUser, loginUserDto);
+				loginUserDto.copyFrom(loginUser);
 				loginUserDto.setPasswordNgCount(0);
 				loginUserDto.setPasswordNgDate("");
 				session.setAttribute("loginUserDto", loginUserDto);
@@ -151,7 +154,7 @@ public class PasswordService {
 		}
 
 		// パスワード変更可能時間を設定
-		Integer timeLimit = Integer.parseInt(messageUtil.getMessage("setting.timelimit.hour"));
+		int timeLimit = settingProperties.getTimelimit().getHour();
 		Date now = new Date();
 
 		// 変更キーの生成
@@ -208,7 +211,7 @@ public class PasswordService {
 			return;
 		}
 
-		// メール送信
+		// メール送信キュー登録（送信はメール送信キュー配信サービスで行う）
 		String nowUrl = request.getRequestURL().toString();
 		String servletPath = request.getServletPath();
 		String resetPasswordUrl = "/password/resetPassword/set";
@@ -217,10 +220,9 @@ public class PasswordService {
 				+ tTemporaryPassStorage.getChangeKey();
 		String to = mailAddressForm.getMailAddress();
 		String subject = messageUtil.getMessage(Constants.PROP_KEY_MAIL_RESETPASS_SUBJECT);
-		String body = messageUtil.getMessage(Constants.PROP_KEY_MAIL_RESETPASS_BODY);
-		body = body.replace(Constants.REPLACE_CHAR_RESET_PASSWORD_URL, url);
+		String body = mailTemplateUtil.render(Constants.PROP_KEY_MAIL_RESETPASS_BODY,
+				Map.of(Constants.MAIL_TEMPLATE_KEY_URL, url));
 		mailService.registMailQue(to, subject, body, null, null);
-		mailUtil.sendMail(to, null, subject, body);
 	}
 
 	/**
@@ -1,14 +1,36 @@
 package jp.co.sss.lms.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jp.co.sss.lms.dto.DailyReportDetailDto;
 import jp.co.sss.lms.dto.DailyReportDownloadDto;
@@ -21,16 +43,19 @@ import jp.co.sss.lms.entity.TDailyReportSubmit;
 import jp.co.sss.lms.entity.TDailyReportSubmitDetail;
 import jp.co.sss.lms.entity.TIntelligibility;
 import jp.co.sss.lms.form.DailyReportSubmitForm;
+import jp.co.sss.lms.mapper.MDailyReportMapper;
 import jp.co.sss.lms.mapper.TCourseDailyReportMapper;
+import jp.co.sss.lms.mapper.TDailyReportFbMapper;
 import jp.co.sss.lms.mapper.TDailyReportSubmitDetailMapper;
 import jp.co.sss.lms.mapper.TDailyReportSubmitMapper;
 import jp.co.sss.lms.mapper.TIntelligibilityMapper;
 import jp.co.sss.lms.mapper.TSectionDailyReportMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.ExcelTemplateCache;
 import jp.co.sss.lms.util.ExcelUtil;
 import jp.co.sss.lms.util.LoginUserUtil;
-import jp.co.sss.lms.util.MessageUtil;
+import jp.co.sss.lms.util.SettingProperties;
 
 /**
  * レポート情報サービス
@@ -45,10 +70,12 @@ public class ReportService {
 	@Autowired
 	private LoginUserUtil loginUserUtil;
 	@Autowired
-	private MessageUtil messageUtil;
+	private SettingProperties settingProperties;
 	@Autowired
 	private DateUtil dateUtil;
 	@Autowired
+	private ExcelTemplateCache excelTemplateCache;
+	@Autowired
 	private TCourseDailyReportMapper tCourseDailyReportMapper;
 	@Autowired
 	private TSectionDailyReportMapper tSectionDailyReportMapper;
@@ -58,6 +85,31 @@ public class ReportService {
 	private TDailyReportSubmitDetailMapper tDailyReportSubmitDetailMapper;
 	@Autowired
 	private TIntelligibilityMapper tIntelligibilityMapper;
+	@Autowired
+	private TDailyReportFbMapper tDailyReportFbMapper;
+	@Autowired
+	private MDailyReportMapper mDailyReportMapper;
+
+	/** レポート一括ダウンロードの同時作成数 */
+	private int reportDownloadThreads;
+
+	/** レポート一括ダウンロード用スレッドプール */
+	private ExecutorService reportDownloadExecutor;
+
+	/** 日報ID毎のレポートテンプレート */
+	private final Map<Integer, DailyReportTemplate> dailyReportTemplateMap = new ConcurrentHashMap<>();
+
+	/**
+	 * スレッドプールの作成
+	 */
+	@PostConstruct
+	public void init() {
+		reportDownloadThreads = Math
+				.max(settingProperties.getReport().getDownload().getThreads(), 1);
+		// Excelの作成はCPUとメモリを使うため、仮想スレッドの設定に関わらずプラットフォームスレッドで実行する
+		reportDownloadExecutor = Executors.newFixedThreadPool(reportDownloadThreads,
+				Thread.ofPlatform().name("report-download-", 0).factory());
+	}
 
 	/**
 	 * レポート情報取得
@@ -68,39 +120,41 @@ public class ReportService {
 	 */
 	public void getDailyReport(DailyReportSubmitForm dailyReportSubmitForm) throws ParseException {
 
-		// コースに紐づくレポート情報を取得
-		DailyReportDto dailyReportDto = tCourseDailyReportMapper.getDailyReportDto(
-				dailyReportSubmitForm.getDailyReportId(), loginUserDto.getCourseId(),
-				loginUserDto.getAccountId(), loginUserDto.getLmsUserId(), Constants.DB_FLG_FALSE,
-				dailyReportSubmitForm.getDate());
-		// 無かった場合にセクションに紐づく情報を取得
-		if (dailyReportDto == null) {
-			dailyReportDto = tSectionDailyReportMapper.getDailyReportDto(
-					dailyReportSubmitForm.getDailyReportId(), dailyReportSubmitForm.getSectionId(),
-					loginUserDto.getAccountId(), loginUserDto.getLmsUserId(),
-					Constants.DB_FLG_FALSE, dailyReportSubmitForm.getDate());
+		// コースまたはセクションに紐づくレポートであることを確認
+		Integer dailyReportId = dailyReportSubmitForm.getDailyReportId();
+		if (tCourseDailyReportMapper.getCount(dailyReportId, loginUserDto.getCourseId(),
+				loginUserDto.getAccountId(), Constants.DB_FLG_FALSE) == 0
+				&& tSectionDailyReportMapper.getCount(dailyReportId,
+						dailyReportSubmitForm.getSectionId(), loginUserDto.getAccountId(),
+						Constants.DB_FLG_FALSE) == 0) {
+			throw new IllegalArgumentException("レポートが存在しません。dailyReportId=" + dailyReportId);
 		}
 
+		// レポートテンプレート（キャッシュ）と提出内容を取得
+		DailyReportDto templateDto = getDailyReportTemplate(dailyReportId);
+		DailyReportDto submitDto = getDailyReportSubmitContent(dailyReportId,
+				dailyReportSubmitForm.getDate());
+
 		// フォームに詰め替え
-		dailyReportSubmitForm.setDailyReportId(dailyReportDto.getDailyReportId());
-		if (dailyReportSubmitForm.getDate() == null) {
-			dailyReportSubmitForm.setDate(dailyReportDto.getDate());
+		dailyReportSubmitForm.setDailyReportId(templateDto.getDailyReportId());
+		if (dailyReportSubmitForm.getDate() == null && submitDto != null) {
+			dailyReportSubmitForm.setDate(submitDto.getDate());
 		}
-		dailyReportSubmitForm.setReportName(dailyReportDto.getReportName());
-		dailyReportSubmitForm.setIntelligibilityFlg(dailyReportDto.getIntelligibilityFlg());
-		if (dailyReportDto.getIntelligibilityFlg() != null
-				&& dailyReportDto.getIntelligibilityFlg() == 1) {
+		dailyReportSubmitForm.setReportName(templateDto.getReportName());
+		dailyReportSubmitForm.setIntelligibilityFlg(templateDto.getIntelligibilityFlg());
+		if (templateDto.getIntelligibilityFlg() != null
+				&& templateDto.getIntelligibilityFlg() == 1) {
 			dailyReportSubmitForm
-					.setIntelligibilityFieldNum(dailyReportDto.getIntelligibilityFieldNum());
-			dailyReportSubmitForm.setIntelligibilityNum(dailyReportDto.getIntelligibilityNum());
-			Short intelligibilityDtoListSize = dailyReportDto.getIntelligibilityFieldNum();
+					.setIntelligibilityFieldNum(templateDto.getIntelligibilityFieldNum());
+			dailyReportSubmitForm.setIntelligibilityNum(templateDto.getIntelligibilityNum());
+			Short intelligibilityDtoListSize = templateDto.getIntelligibilityFieldNum();
 			String[] intFieldNameArray = new String[intelligibilityDtoListSize];
 			Short[] intFieldValueArray = new Short[intelligibilityDtoListSize];
-			List<IntelligibilityDto> intelligibilityDtoList = dailyReportDto
-					.getIntelligibilityDtoList();
-			if (!(intelligibilityDtoList.size() == 1
-					&& intelligibilityDtoList.get(0).getIntelligibilityId() == null)) {
-				for (int i = 0; i < intelligibilityDtoList.size(); i++) {
+			if (submitDto != null) {
+				List<IntelligibilityDto> intelligibilityDtoList = submitDto
+						.getIntelligibilityDtoList();
+				for (int i = 0; i < intelligibilityDtoList.size()
+						&& i < intelligibilityDtoListSize; i++) {
 					intFieldNameArray[i] = intelligibilityDtoList.get(i).getFieldName();
 					intFieldValueArray[i] = intelligibilityDtoList.get(i).getFieldValue();
 				}
@@ -108,22 +162,32 @@ public class ReportService {
 			dailyReportSubmitForm.setIntFieldNameArray(intFieldNameArray);
 			dailyReportSubmitForm.setIntFieldValueArray(intFieldValueArray);
 		}
-		Integer dailyReportDetailDtoListSize = dailyReportDto.getDailyReportDetailDtoList().size();
+
+		// 提出内容を項目番号で引けるようにする
+		Map<Integer, String> contentMap = new HashMap<>();
+		if (submitDto != null) {
+			for (DailyReportDetailDto dailyReportDetailDto : submitDto
+					.getDailyReportDetailDtoList()) {
+				contentMap.put(dailyReportDetailDto.getFieldNum(),
+						dailyReportDetailDto.getContent());
+			}
+		}
+		Integer dailyReportDetailDtoListSize = templateDto.getDailyReportDetailDtoList().size();
 		String[] fieldNameArray = new String[dailyReportDetailDtoListSize];
 		Short[] requiredFlgArray = new Short[dailyReportDetailDtoListSize];
 		Short[] inputTypeArray = new Short[dailyReportDetailDtoListSize];
 		Integer[] rangeFromArray = new Integer[dailyReportDetailDtoListSize];
 		Integer[] rangeToArray = new Integer[dailyReportDetailDtoListSize];
 		String[] contentArray = new String[dailyReportDetailDtoListSize];
-		for (int j = 0; j < dailyReportDto.getDailyReportDetailDtoList().size(); j++) {
-			DailyReportDetailDto dailyReportDetailDto = dailyReportDto.getDailyReportDetailDtoList()
+		for (int j = 0; j < dailyReportDetailDtoListSize; j++) {
+			DailyReportDetailDto dailyReportDetailDto = templateDto.getDailyReportDetailDtoList()
 					.get(j);
 			fieldNameArray[j] = dailyReportDetailDto.getFieldName();
 			requiredFlgArray[j] = dailyReportDetailDto.getRequiredFlg();
 			inputTypeArray[j] = dailyReportDetailDto.getInputType();
 			rangeFromArray[j] = dailyReportDetailDto.getRangeFrom();
 			rangeToArray[j] = dailyReportDetailDto.getRangeTo();
-			contentArray[j] = dailyReportDetailDto.getContent();
+			contentArray[j] = contentMap.get(dailyReportDetailDto.getFieldNum());
 		}
 		dailyReportSubmitForm.setFieldNameArray(fieldNameArray);
 		dailyReportSubmitForm.setRequiredFlgArray(requiredFlgArray);
@@ -133,12 +197,165 @@ public class ReportService {
 		dailyReportSubmitForm.setContentArray(contentArray);
 	}
 
+	/**
+	 * レポート提出内容取得<br>
+	 * 詳細と理解度は結合せず、提出IDで個別に取得する。
+	 * 
+	 * @param dailyReportId
+	 * @param date
+	 * @return レポートDTO（提出内容のみ、未提出の場合null）
+	 */
+	private DailyReportDto getDailyReportSubmitContent(Integer dailyReportId, Date date) {
+		DailyReportDto submitDto = tDailyReportSubmitMapper.getDailyReportSubmit(dailyReportId,
+				loginUserDto.getLmsUserId(), date);
+		if (submitDto == null) {
+			return null;
+		}
+		submitDto.setDailyReportDetailDtoList(tDailyReportSubmitDetailMapper
+				.getDailyReportDetailDtoList(submitDto.getDailyReportSubmitId(),
+						Constants.DB_FLG_FALSE));
+		submitDto.setIntelligibilityDtoList(tIntelligibilityMapper.getIntelligibilityDtoList(
+				submitDto.getDailyReportSubmitId(), Constants.DB_FLG_FALSE));
+		return submitDto;
+	}
+
+	/**
+	 * レポートダウンロードDTO取得<br>
+	 * 詳細・理解度・フィードバックは結合せず個別に取得し、テンプレートの出力位置と組み合わせる。
+	 * 
+	 * @param dailyReportId
+	 * @param dailyReportSubmitId
+	 * @return レポートダウンロードDTO
+	 */
+	private DailyReportDownloadDto getDailyReportDownloadDto(Integer dailyReportId,
+			Integer dailyReportSubmitId) {
+
+		// 提出者情報
+		DailyReportDownloadDto dailyReportDownloadDto = tDailyReportSubmitMapper
+				.getDailyReportDownloadDto(dailyReportSubmitId, dailyReportId,
+						Constants.DB_FLG_FALSE);
+		if (dailyReportDownloadDto == null) {
+			throw new IllegalArgumentException(
+					"レポートが存在しません。dailyReportSubmitId=" + dailyReportSubmitId);
+		}
+
+		// テンプレートの出力位置
+		DailyReportDto templateDto = getDailyReportTemplate(dailyReportId);
+		dailyReportDownloadDto.setFileName(templateDto.getFileName());
+		dailyReportDownloadDto.setSheetName(templateDto.getSheetName());
+		dailyReportDownloadDto.setRowCompany(templateDto.getRowCompany());
+		dailyReportDownloadDto.setClmCompany(templateDto.getClmCompany());
+		dailyReportDownloadDto.setRowUser(templateDto.getRowUser());
+		dailyReportDownloadDto.setClmUser(templateDto.getClmUser());
+		dailyReportDownloadDto.setRowDate(templateDto.getRowDate());
+		dailyReportDownloadDto.setClmDate(templateDto.getClmDate());
+		dailyReportDownloadDto.setRowIntelFld(templateDto.getRowIntelFld());
+		dailyReportDownloadDto.setClmIntelFld(templateDto.getClmIntelFld());
+		dailyReportDownloadDto.setRowIntel(templateDto.getRowIntel());
+		dailyReportDownloadDto.setClmIntel(templateDto.getClmIntel());
+
+		// 提出内容を項目番号で出力位置と組み合わせる
+		Map<Integer, String> contentMap = new HashMap<>();
+		for (DailyReportDetailDto dailyReportDetailDto : tDailyReportSubmitDetailMapper
+				.getDailyReportDetailDtoList(dailyReportSubmitId, Constants.DB_FLG_FALSE)) {
+			contentMap.put(dailyReportDetailDto.getFieldNum(), dailyReportDetailDto.getContent());
+		}
+		List<DailyReportDetailDto> dailyReportDetailDtoList = new ArrayList<>();
+		for (DailyReportDetailDto templateDetailDto : templateDto.getDailyReportDetailDtoList()) {
+			DailyReportDetailDto dailyReportDetailDto = new DailyReportDetailDto();
+			dailyReportDetailDto.setDailyReportSubmitId(dailyReportSubmitId);
+			dailyReportDetailDto.setFieldNum(templateDetailDto.getFieldNum());
+			dailyReportDetailDto.setRow(templateDetailDto.getRow());
+			dailyReportDetailDto.setClm(templateDetailDto.getClm());
+			dailyReportDetailDto.setContent(contentMap.get(templateDetailDto.getFieldNum()));
+			dailyReportDetailDtoList.add(dailyReportDetailDto);
+		}
+		dailyReportDownloadDto.setDailyReportDetailDtoList(dailyReportDetailDtoList);
+
+		dailyReportDownloadDto.setIntelligibilityDtoList(tIntelligibilityMapper
+				.getIntelligibilityDtoList(dailyReportSubmitId, Constants.DB_FLG_FALSE));
+		dailyReportDownloadDto.setDailyReportFbDtoList(tDailyReportFbMapper
+				.getDailyReportFbDtoList(dailyReportSubmitId, Constants.DB_FLG_FALSE));
+
+		return dailyReportDownloadDto;
+	}
+
+	/**
+	 * レポートテンプレート取得<br>
+	 * 日報マスタ・日報詳細マスタはほとんど変更されないため日報ID毎に保持し、保持期間を過ぎた場合は読み直す。
+	 * 保持しているDTOは共有されるため、呼び出し毎に複製して返す。
+	 * 
+	 * @param dailyReportId
+	 * @return レポートDTO（提出内容なし）
+	 */
+	private DailyReportDto getDailyReportTemplate(Integer dailyReportId) {
+		DailyReportTemplate template = dailyReportTemplateMap.get(dailyReportId);
+		long templateCacheExpire = settingProperties.getReport().getTemplate().getCache()
+				.getExpire().toMillis();
+		if (template == null
+				|| System.currentTimeMillis() - template.loadTime >= templateCacheExpire) {
+			DailyReportDto templateDto = mDailyReportMapper.getDailyReportTemplate(dailyReportId);
+			if (templateDto == null) {
+				dailyReportTemplateMap.remove(dailyReportId);
+				throw new IllegalArgumentException("レポートが存在しません。dailyReportId=" + dailyReportId);
+			}
+			template = new DailyReportTemplate(templateDto);
+			dailyReportTemplateMap.put(dailyReportId, template);
+		}
+		return copyDailyReportTemplate(template.dailyReportDto);
+	}
+
+	/**
+	 * レポートテンプレートの複製
+	 * 
+	 * @param templateDto
+	 * @return レポートDTO（提出内容なし）
+	 */
+	private DailyReportDto copyDailyReportTemplate(DailyReportDto templateDto) {
+		DailyReportDto dailyReportDto = new DailyReportDto();
+		dailyReportDto.setDailyReportId(templateDto.getDailyReportId());
+		dailyReportDto.setReportName(templateDto.getReportName());
+		dailyReportDto.setFileName(templateDto.getFileName());
+		dailyReportDto.setSheetName(templateDto.getSheetName());
+		dailyReportDto.setRowCompany(templateDto.getRowCompany());
+		dailyReportDto.setClmCompany(templateDto.getClmCompany());
+		dailyReportDto.setRowUser(templateDto.getRowUser());
+		dailyReportDto.setClmUser(templateDto.getClmUser());
+		dailyReportDto.setRowDate(templateDto.getRowDate());
+		dailyReportDto.setClmDate(templateDto.getClmDate());
+		dailyReportDto.setIntelligibilityFlg(templateDto.getIntelligibilityFlg());
+		dailyReportDto.setIntelligibilityFieldNum(templateDto.getIntelligibilityFieldNum());
+		dailyReportDto.setIntelligibilityNum(templateDto.getIntelligibilityNum());
+		dailyReportDto.setRowIntelFld(templateDto.getRowIntelFld());
+		dailyReportDto.setClmIntelFld(templateDto.getClmIntelFld());
+		dailyReportDto.setRowIntel(templateDto.getRowIntel());
+		dailyReportDto.setClmIntel(templateDto.getClmIntel());
+		dailyReportDto.setDeleteFlg(templateDto.getDeleteFlg());
+		List<DailyReportDetailDto> dailyReportDetailDtoList = new ArrayList<>(
+				templateDto.getDailyReportDetailDtoList().size());
+		for (DailyReportDetailDto templateDetailDto : templateDto.getDailyReportDetailDtoList()) {
+			DailyReportDetailDto dailyReportDetailDto = new DailyReportDetailDto();
+			dailyReportDetailDto.setFieldNum(templateDetailDto.getFieldNum());
+			dailyReportDetailDto.setFieldName(templateDetailDto.getFieldName());
+			dailyReportDetailDto.setRow(templateDetailDto.getRow());
+			dailyReportDetailDto.setClm(templateDetailDto.getClm());
+			dailyReportDetailDto.setRequiredFlg(templateDetailDto.getRequiredFlg());
+			dailyReportDetailDto.setInputType(templateDetailDto.getInputType());
+			dailyReportDetailDto.setRangeFrom(templateDetailDto.getRangeFrom());
+			dailyReportDetailDto.setRangeTo(templateDetailDto.getRangeTo());
+			dailyReportDetailDtoList.add(dailyReportDetailDto);
+		}
+		dailyReportDto.setDailyReportDetailDtoList(dailyReportDetailDtoList);
+		return dailyReportDto;
+	}
+
 	/**
 	 * レポート登録
 	 * 
 	 * @param form
 	 * @throws ParseException
 	 */
+	@Transactional
 	public void submit(DailyReportSubmitForm dailyReportSubmitForm) throws ParseException {
 
 		Date today = new Date();
@@ -163,20 +380,13 @@ public class ReportService {
 			tDailyReportSubmit
 					.setDailyReportSubmitId(dailyReportSubmitForm.getDailyReportSubmitId());
 			tDailyReportSubmitMapper.update(tDailyReportSubmit);
-			// 日報提出詳細の削除
-			Integer countSubmitDetail = tDailyReportSubmitDetailMapper
-					.getCountByDailyReportSubmitId(tDailyReportSubmit.getDailyReportSubmitId());
-			if (countSubmitDetail > 0) {
-				tDailyReportSubmitDetailMapper.delete(tDailyReportSubmit.getDailyReportSubmitId());
-			}
+			// 日報提出詳細の削除（0件でも問題ないため件数確認は行わない）
+			tDailyReportSubmitDetailMapper.delete(tDailyReportSubmit.getDailyReportSubmitId());
 			// 理解度の削除
-			Integer countIntelligibility = tIntelligibilityMapper
-					.getCountByDailyReportSubmitId(tDailyReportSubmit.getDailyReportSubmitId());
-			if (countIntelligibility > 0) {
-				tIntelligibilityMapper.delete(tDailyReportSubmit.getDailyReportSubmitId());
-			}
+			tIntelligibilityMapper.delete(tDailyReportSubmit.getDailyReportSubmitId());
 		}
 		// レポート詳細登録
+		List<TDailyReportSubmitDetail> tDailyReportSubmitDetailList = new ArrayList<>();
 		for (int i = 0; i < dailyReportSubmitForm.getContentArray().length; i++) {
 			TDailyReportSubmitDetail tDailyReportSubmitDetail = new TDailyReportSubmitDetail();
 			tDailyReportSubmitDetail
@@ -189,10 +399,14 @@ public class ReportService {
 			tDailyReportSubmitDetail.setFirstCreateDate(today);
 			tDailyReportSubmitDetail.setLastModifiedUser(loginUserDto.getLmsUserId());
 			tDailyReportSubmitDetail.setLastModifiedDate(today);
-			tDailyReportSubmitDetailMapper.insert(tDailyReportSubmitDetail);
+			tDailyReportSubmitDetailList.add(tDailyReportSubmitDetail);
+		}
+		if (!tDailyReportSubmitDetailList.isEmpty()) {
+			tDailyReportSubmitDetailMapper.insertBulk(tDailyReportSubmitDetailList);
 		}
 		// 理解度登録
 		if (dailyReportSubmitForm.getIntFieldNameArray() != null) {
+			List<TIntelligibility> tIntelligibilityList = new ArrayList<>();
 			for (int j = 0; j < dailyReportSubmitForm.getIntFieldNameArray().length; j++) {
 				TIntelligibility tIntelligibility = new TIntelligibility();
 				tIntelligibility
@@ -206,7 +420,10 @@ public class ReportService {
 				tIntelligibility.setFirstCreateDate(today);
 				tIntelligibility.setLastModifiedUser(loginUserDto.getLmsUserId());
 				tIntelligibility.setLastModifiedDate(today);
-				tIntelligibilityMapper.insert(tIntelligibility);
+				tIntelligibilityList.add(tIntelligibility);
+			}
+			if (!tIntelligibilityList.isEmpty()) {
+				tIntelligibilityMapper.insertBulk(tIntelligibilityList);
 			}
 		}
 	}
@@ -225,6 +442,112 @@ public class ReportService {
 		ExcelUtil.downloadBook(workbookDto, response);
 	}
 
+	/**
+	 * レポート一括ダウンロード
+	 * 
+	 * @param dailyReportIdList
+	 * @param dailyReportSubmitIdList
+	 * @param response
+	 * @throws IOException
+	 */
+	public void downloadList(String[] dailyReportIdList, String[] dailyReportSubmitIdList,
+			HttpServletResponse response) throws IOException {
+
+		ExcelUtil.setZipDownloadHeader("レポート", response);
+		writeList(dailyReportIdList, dailyReportSubmitIdList, response.getOutputStream());
+	}
+
+	/**
+	 * レポートをzipにまとめて書き出す<br>
+	 * ワークブックの作成は上限付きのスレッドプールで並列に行い、完成した順ではなく指定順にzipへ書き出す。
+	 * 同時に保持するワークブックはスレッド数までとする。
+	 * 
+	 * @param dailyReportIdList
+	 * @param dailyReportSubmitIdList
+	 * @param out
+	 * @throws IOException
+	 */
+	public void writeList(String[] dailyReportIdList, String[] dailyReportSubmitIdList,
+			OutputStream out) throws IOException {
+
+		Deque<Future<ByteArrayWorkbook>> futureQueue = new ArrayDeque<>();
+		try (ZipOutputStream zos = new ZipOutputStream(out, Charset.forName("MS932"))) {
+			Set<String> wbNameSet = new HashSet<>();
+			for (int i = 0; i < dailyReportSubmitIdList.length; i++) {
+				Integer dailyReportId = Integer.valueOf(dailyReportIdList[i]);
+				Integer dailyReportSubmitId = Integer.valueOf(dailyReportSubmitIdList[i]);
+				futureQueue.add(reportDownloadExecutor
+						.submit(() -> render(dailyReportId, dailyReportSubmitId)));
+				if (futureQueue.size() >= reportDownloadThreads) {
+					writeZipEntry(zos, wbNameSet, futureQueue.poll());
+				}
+			}
+			while (!futureQueue.isEmpty()) {
+				writeZipEntry(zos, wbNameSet, futureQueue.poll());
+			}
+		} finally {
+			// 途中で失敗した場合は残りの作成を中止する
+			for (Future<ByteArrayWorkbook> future : futureQueue) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * ワークブックを作成しバイト列に変換
+	 * 
+	 * @param dailyReportId
+	 * @param dailyReportSubmitId
+	 * @return 変換済みワークブック
+	 * @throws IOException
+	 */
+	private ByteArrayWorkbook render(Integer dailyReportId, Integer dailyReportSubmitId)
+			throws IOException {
+		WorkbookDto workbookDto = getWorkbookDto(dailyReportId, dailyReportSubmitId);
+		ByteArrayWorkbook byteArrayWorkbook = new ByteArrayWorkbook(workbookDto.getWbName());
+		try {
+			workbookDto.getWb().write(byteArrayWorkbook.content);
+		} finally {
+			ExcelUtil.dispose(workbookDto.getWb());
+		}
+		return byteArrayWorkbook;
+	}
+
+	/**
+	 * 作成済みのワークブックをzipへ書き出す
+	 * 
+	 * @param zos
+	 * @param wbNameSet
+	 * @param future
+	 * @throws IOException
+	 */
+	private void writeZipEntry(ZipOutputStream zos, Set<String> wbNameSet,
+			Future<ByteArrayWorkbook> future) throws IOException {
+		ByteArrayWorkbook byteArrayWorkbook;
+		try {
+			byteArrayWorkbook = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+		zos.putNextEntry(new ZipEntry(ExcelUtil.getUniqueName(wbNameSet, byteArrayWorkbook.wbName)));
+		byteArrayWorkbook.content.writeTo(zos);
+		zos.closeEntry();
+	}
+
+	/**
+	 * スレッドプールの停止
+	 */
+	@PreDestroy
+	public void shutdown() {
+		reportDownloadExecutor.shutdownNow();
+	}
+
 	/**
 	 * ワークブックDTO取得
 	 * 
@@ -237,37 +560,38 @@ public class ReportService {
 			throws IOException {
 
 		// レポートダウンロード情報取得
-		DailyReportDownloadDto dailyReportDownloadDto = tDailyReportSubmitMapper
-				.getDailyReportDownloadDto(dailyReportSubmitId, dailyReportId,
-						Constants.DB_FLG_FALSE);
+		DailyReportDownloadDto dailyReportDownloadDto = getDailyReportDownloadDto(dailyReportId,
+				dailyReportSubmitId);
 
 		// テンプレートファイルのパスを設定
-		String commonFileDir = messageUtil.getMessage("setting.file.common.dir");
+		String commonFileDir = settingProperties.getFile().getCommon().getDir();
 		String excelFilePath = commonFileDir + "/" + dailyReportDownloadDto.getFileName();
 
-		ExcelUtil excelUtil = new ExcelUtil(excelFilePath);
+		// xlsx形式のテンプレートは、フィードバックコメントの追加行をストリーミングで書き出す
+		Workbook wb = excelTemplateCache.getWorkbook(excelFilePath);
+		int excelRowWindow = settingProperties.getExcel().getRow().getWindow();
+		ExcelUtil excelUtil = wb instanceof XSSFWorkbook ? new ExcelUtil(wb, excelRowWindow)
+				: new ExcelUtil(wb);
+
+		ExcelUtil.SheetWriter writer = excelUtil
+				.getSheetWriter(dailyReportDownloadDto.getSheetName());
 
 		// 企業名
-		excelUtil.setVal(dailyReportDownloadDto.getSheetName(),
-				dailyReportDownloadDto.getRowCompany() - 1,
-				dailyReportDownloadDto.getClmCompany() - 1,
-				dailyReportDownloadDto.getCompanyName());
+		writer.row(dailyReportDownloadDto.getRowCompany() - 1).setVal(
+				dailyReportDownloadDto.getClmCompany() - 1, dailyReportDownloadDto.getCompanyName());
 
 		// ユーザー名
-		excelUtil.setVal(dailyReportDownloadDto.getSheetName(),
-				dailyReportDownloadDto.getRowUser() - 1, dailyReportDownloadDto.getClmUser() - 1,
-				dailyReportDownloadDto.getUserName());
+		writer.row(dailyReportDownloadDto.getRowUser() - 1).setVal(
+				dailyReportDownloadDto.getClmUser() - 1, dailyReportDownloadDto.getUserName());
 
 		// 日付
-		excelUtil.setVal(dailyReportDownloadDto.getSheetName(),
-				dailyReportDownloadDto.getRowDate() - 1, dailyReportDownloadDto.getClmDate() - 1,
-				dailyReportDownloadDto.getDate());
+		writer.row(dailyReportDownloadDto.getRowDate() - 1)
+				.setVal(dailyReportDownloadDto.getClmDate() - 1, dailyReportDownloadDto.getDate());
 
 		// 「日報提出詳細テーブル」と「日報詳細マスタ」のデータを設定する。
 		for (DailyReportDetailDto dailyReportDetailDto : dailyReportDownloadDto
 				.getDailyReportDetailDtoList()) {
-			excelUtil.setVal(dailyReportDownloadDto.getSheetName(),
-					dailyReportDetailDto.getRow() - 1, dailyReportDetailDto.getClm() - 1,
+			writer.row(dailyReportDetailDto.getRow() - 1).setVal(dailyReportDetailDto.getClm() - 1,
 					dailyReportDetailDto.getContent());
 		}
 
@@ -278,33 +602,28 @@ public class ReportService {
 
 			for (IntelligibilityDto intelligibilityDto : dailyReportDownloadDto
 					.getIntelligibilityDtoList()) {
-				excelUtil.setVal(dailyReportDownloadDto.getSheetName(), rowIntelFld - 1,
-						dailyReportDownloadDto.getClmIntelFld() - 1,
+				writer.row(rowIntelFld - 1).setVal(dailyReportDownloadDto.getClmIntelFld() - 1,
 						intelligibilityDto.getFieldName());
-				excelUtil.setVal(dailyReportDownloadDto.getSheetName(), rowIntel - 1,
-						dailyReportDownloadDto.getClmIntel() - 1,
+				writer.row(rowIntel - 1).setVal(dailyReportDownloadDto.getClmIntel() - 1,
 						intelligibilityDto.getFieldValue());
 				rowIntelFld++;
 				rowIntel++;
 			}
 		}
 
-		if (dailyReportDownloadDto.getDailyReportFbDtoList() != null) {
-			if (dailyReportDownloadDto.getDailyReportFbDtoList().size() > 1) {
-				for (int i = 1; i < dailyReportDownloadDto.getDailyReportFbDtoList().size(); i++) {
-					excelUtil.sheetCopy("フィードバックコメント", 6, 8, i);
-				}
-			}
-			for (int i = 0; i < dailyReportDownloadDto.getDailyReportFbDtoList().size(); i++) {
-				DailyReportFbDto dailyReportFbDto = dailyReportDownloadDto.getDailyReportFbDtoList()
-						.get(i);
-				// 指定位置にフィードバックしたユーザを設定
-				excelUtil.setVal("フィードバックコメント", 6 + (i * 2), 0, dailyReportFbDto.getUserName());
-				// 指定位置にコメントを入力した日付を設定
-				excelUtil.setVal("フィードバックコメント", 6 + (i * 2), 17, dailyReportFbDto.getDate());
-				// 指定位置に入力内容を設定
-				excelUtil.setVal("フィードバックコメント", 7 + (i * 2), 10, dailyReportFbDto.getContent());
+		List<DailyReportFbDto> dailyReportFbDtoList = dailyReportDownloadDto
+				.getDailyReportFbDtoList();
+		// フィードバックコメントのシートがないテンプレート（最終レポート等）は設定しない
+		if (dailyReportFbDtoList != null && dailyReportFbDtoList.size() > 0
+				&& excelUtil.isExistSheet("フィードバックコメント")) {
+			// 追加行は書き出し済みの行に戻れないため、2件目以降はフィードバック欄をコピーした直後に設定し、
+			// コピー元となるテンプレート内の1件目は最後に設定する
+			ExcelUtil.SheetWriter fbWriter = excelUtil.getSheetWriter("フィードバックコメント");
+			for (int i = 1; i < dailyReportFbDtoList.size(); i++) {
+				excelUtil.sheetCopy("フィードバックコメント", 6, 8, i);
+				setDailyReportFb(fbWriter, i, dailyReportFbDtoList.get(i));
 			}
+			setDailyReportFb(fbWriter, 0, dailyReportFbDtoList.get(0));
 		}
 
 		WorkbookDto workbookDto = new WorkbookDto();
@@ -331,4 +650,51 @@ public class ReportService {
 		return workbookDto;
 	}
 
+	/**
+	 * フィードバックコメント欄の設定
+	 * 
+	 * @param fbWriter
+	 * @param index            フィードバックコメントの順番（0始まり）
+	 * @param dailyReportFbDto
+	 */
+	private void setDailyReportFb(ExcelUtil.SheetWriter fbWriter, int index,
+			DailyReportFbDto dailyReportFbDto) {
+		// 指定位置にフィードバックしたユーザ、コメントを入力した日付を設定
+		fbWriter.row(6 + (index * 2)).setVal(0, dailyReportFbDto.getUserName()).setVal(17,
+				dailyReportFbDto.getDate());
+		// 次の行の指定位置に入力内容を設定
+		fbWriter.nextRow().setVal(10, dailyReportFbDto.getContent());
+	}
+
+	/**
+	 * バイト列に変換済みのワークブック
+	 */
+	private static final class ByteArrayWorkbook {
+
+		/** ワークブック名 */
+		private final String wbName;
+		/** ファイル内容 */
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		private ByteArrayWorkbook(String wbName) {
+			this.wbName = wbName;
+		}
+	}
+
+	/**
+	 * 日報ID毎のレポートテンプレート（メモリ保持用）<br>
+	 * 共有するため変更しないこと。
+	 */
+	private static final class DailyReportTemplate {
+
+		/** レポートDTO（提出内容なし） */
+		private final DailyReportDto dailyReportDto;
+		/** 読み込み日時 */
+		private final long loadTime = System.currentTimeMillis();
+
+		private DailyReportTemplate(DailyReportDto dailyReportDto) {
+			this.dailyReportDto = dailyReportDto;
+		}
+	}
+
 }
@@ -1,27 +1,44 @@
 package jp.co.sss.lms.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.dto.SectionServiceDailyReportDto;
+import jp.co.sss.lms.dto.SectionServiceDeliverablesSectionDto;
+import jp.co.sss.lms.dto.SectionServiceExamDto;
 import jp.co.sss.lms.dto.SectionServiceFileDto;
-import jp.co.sss.lms.dto.SectionServiceSectionDto;
+import jp.co.sss.lms.entity.MSection;
 import jp.co.sss.lms.form.SectionDetailForm;
 import jp.co.sss.lms.mapper.MSectionMapper;
+import jp.co.sss.lms.mapper.TCourseDailyReportMapper;
 import jp.co.sss.lms.mapper.TSectionDailyReportMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.LoggingUtil;
 import jp.co.sss.lms.util.MessageUtil;
 import jp.co.sss.lms.util.PasswordUtil;
+import jp.co.sss.lms.util.SettingProperties;
 
 /**
- * セクション情報サービス
+ * セクション情報サービス<br>
+ * セクション本体・ファイル・試験・成果物は受講生に依存しないためセクション毎に保持し、
+ * 日報の提出状況のみ表示の都度取得する。
  * 
  * @author 東京ITスクール
  */
@@ -31,6 +48,8 @@ public class SectionService {
 	@Autowired
 	private MSectionMapper mSectionMapper;
 	@Autowired
+	private TCourseDailyReportMapper tCourseDailyReportMapper;
+	@Autowired
 	private TSectionDailyReportMapper tSectionDailyReportMapper;
 	@Autowired
 	private MessageUtil messageUtil;
@@ -40,53 +59,200 @@ public class SectionService {
 	private PasswordUtil passwordUtil;
 	@Autowired
 	private LoggingUtil loggingUtil;
+	@Autowired
+	private SettingProperties settingProperties;
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
+	/** セクションID毎のセクション情報 */
+	private final Map<Integer, SectionCache> sectionCacheMap = new ConcurrentHashMap<>();
+	/** 並列取得用 */
+	private ExecutorService sectionExecutor;
+
+	/**
+	 * 並列取得用スレッドの初期化
+	 */
+	@PostConstruct
+	public void init() {
+		sectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	}
+
+	/**
+	 * 並列取得用スレッドの停止
+	 */
+	@PreDestroy
+	public void shutdown() {
+		sectionExecutor.shutdownNow();
+	}
+
 	/**
-	 * パラメータチェック
+	 * セクション詳細情報の取得<br>
+	 * セクションが存在しない場合は削除済としてログを出力する。
+	 * 
+	 * @param sectionDetailForm
+	 * @return 詳細情報を設定したセクション詳細フォーム（セクションが存在しない場合空）
+	 */
+	public Optional<SectionDetailForm> getSectionDetail(SectionDetailForm sectionDetailForm) {
+		// セッションの値は別スレッドから参照できないため先に取り出す
+		Integer sectionId = sectionDetailForm.getSectionId();
+		Integer lmsUserId = loginUserDto.getLmsUserId();
+		String userId = loginUserDto.getUserId().toString();
+
+		// セクション・日報紐付け情報の取得（並列）
+		Future<List<SectionServiceDailyReportDto>> sectionReportFuture = sectionExecutor
+				.submit(() -> tSectionDailyReportMapper.getSectionServiceDailyReportDto(sectionId,
+						lmsUserId, Constants.DB_FLG_FALSE));
+
+		// セクション情報の取得
+		SectionCache sectionCache = getSectionCache(sectionId);
+		if (sectionCache == null
+				|| !sectionCache.mSection.getAccountId().equals(loginUserDto.getAccountId())) {
+			sectionReportFuture.cancel(true);
+			logAlreadyDeleted(sectionId);
+			return Optional.empty();
+		}
+		MSection mSection = sectionCache.mSection;
+		sectionDetailForm.setSectionName(mSection.getSectionName());
+		sectionDetailForm.setSectionDescription(mSection.getSectionDescription());
+		sectionDetailForm.setCourseId(mSection.getCourseId());
+		sectionDetailForm.setDate(mSection.getDate());
+		sectionDetailForm.setMaxFileSize(Constants.DELIVERABLES_UPLOAD_MAX_SIZE);
+
+		// ファイル情報の設定（ファイルIDは受講生毎にハッシュ化する）
+		List<SectionServiceFileDto> fileDtoList = new ArrayList<>(sectionCache.fileDtoList.size());
+		for (SectionServiceFileDto cachedFileDto : sectionCache.fileDtoList) {
+			SectionServiceFileDto fileDto = new SectionServiceFileDto();
+			fileDto.setFileId(
+					passwordUtil.getSaltedAndStrechedPassword(cachedFileDto.getFileId(), userId));
+			fileDto.setFileName(cachedFileDto.getFileName());
+			fileDto.setFilePath(cachedFileDto.getFilePath());
+			fileDtoList.add(fileDto);
+		}
+		sectionDetailForm.setFileDtoList(fileDtoList);
+
+		// 試験情報の設定（公開状態は表示時点で判定する）
+		Date now = new Date();
+		List<SectionServiceExamDto> examDtoList = new ArrayList<>(sectionCache.examDtoList.size());
+		for (SectionServiceExamDto cachedExamDto : sectionCache.examDtoList) {
+			SectionServiceExamDto examDto = new SectionServiceExamDto();
+			examDto.setExamSectionId(cachedExamDto.getExamSectionId());
+			examDto.setExamId(cachedExamDto.getExamId());
+			examDto.setExamName(cachedExamDto.getExamName());
+			examDto.setGenreId(cachedExamDto.getGenreId());
+			examDto.setPublicDate(cachedExamDto.getPublicDate());
+			examDto.setPublicFlg(
+					cachedExamDto.getPublicDate() != null && cachedExamDto.getPublicDate().before(now));
+			examDto.setSectionId(sectionId);
+			examDto.setCourseId(mSection.getCourseId());
+			examDtoList.add(examDto);
+		}
+		sectionDetailForm.setExamDtoList(examDtoList);
+
+		sectionDetailForm.setDeliverablesDtoList(sectionCache.deliverablesDtoList);
+
+		// コース・日報紐付け情報の取得
+		List<SectionServiceDailyReportDto> reportDtoList = tCourseDailyReportMapper
+				.getSectionServiceDailyReportDto(mSection.getCourseId(), mSection.getDate(),
+						lmsUserId, Constants.DB_FLG_FALSE);
+		for (SectionServiceDailyReportDto reportDto : reportDtoList) {
+			reportDto.setDate(mSection.getDate());
+		}
+		reportDtoList.addAll(getResult(sectionReportFuture));
+		sectionDetailForm.setReportDtoList(reportDtoList);
+		return Optional.of(sectionDetailForm);
+	}
+
+	/**
+	 * 削除済セクションへのアクセスのログ出力
+	 * 
+	 * @param sectionId
+	 */
+	private void logAlreadyDeleted(Integer sectionId) {
+		String message = messageUtil.getMessage(Constants.VALID_KEY_ALREADYDELETE,
+				new String[] { "セクションID " + sectionId });
+		StringBuilder sb = new StringBuilder(message);
+		loggingUtil.appendLog(sb);
+		logger.info(sb.toString());
+	}
+
+	/**
+	 * セクション情報の取得（保持期間を過ぎた場合は読み直す）
 	 * 
 	 * @param sectionId
-	 * @return エラーメッセージ
+	 * @return セクション情報（存在しない場合null）
 	 */
-	public String checkSectionId(Integer sectionId) {
-		Integer count = mSectionMapper.getSectionCount(sectionId);
-		if (count == 0) {
-			String message = messageUtil.getMessage(Constants.VALID_KEY_ALREADYDELETE,
-					new String[] { "セクションID " + sectionId });
-			StringBuffer sb = new StringBuffer(message);
-			loggingUtil.appendLog(sb);
-			logger.info(sb.toString());
-			return message;
+	private SectionCache getSectionCache(Integer sectionId) {
+		SectionCache sectionCache = sectionCacheMap.get(sectionId);
+		long cacheExpire = settingProperties.getSection().getCache().getExpire().toMillis();
+		if (sectionCache != null
+				&& System.currentTimeMillis() - sectionCache.loadTime < cacheExpire) {
+			return sectionCache;
 		}
-		return "";
+
+		MSection mSection = mSectionMapper.getSection(sectionId, Constants.DB_FLG_FALSE);
+		if (mSection == null) {
+			sectionCacheMap.remove(sectionId);
+			return null;
+		}
+		Future<List<SectionServiceFileDto>> fileFuture = sectionExecutor
+				.submit(() -> mSectionMapper.getSectionFileDtoList(sectionId));
+		Future<List<SectionServiceExamDto>> examFuture = sectionExecutor.submit(
+				() -> mSectionMapper.getSectionExamDtoList(sectionId, Constants.DB_FLG_FALSE));
+		List<SectionServiceDeliverablesSectionDto> deliverablesDtoList = mSectionMapper
+				.getSectionDeliverablesDtoList(sectionId, Constants.DB_FLG_FALSE);
+
+		sectionCache = new SectionCache(mSection, getResult(fileFuture), getResult(examFuture),
+				deliverablesDtoList);
+		sectionCacheMap.put(sectionId, sectionCache);
+		return sectionCache;
 	}
 
 	/**
-	 * セクション詳細情報の取得
+	 * 並列取得結果の取得
 	 * 
-	 * @param sectionDetailForm
+	 * @param <T>
+	 * @param future
+	 * @return 取得結果
 	 */
-	public void getSectionDetail(SectionDetailForm sectionDetailForm) {
-		// セクションサービスDTOの取得
-		SectionServiceSectionDto sectionServiceSectionDto = mSectionMapper.getSectionDetail(
-				sectionDetailForm.getSectionId(), loginUserDto.getAccountId(),
-				loginUserDto.getLmsUserId(), Constants.DB_FLG_FALSE);
-		BeanUtils.copyProperties(sectionServiceSectionDto, sectionDetailForm);
-		// セクション・日報紐付け情報の取得
-		List<SectionServiceDailyReportDto> sectionServiceDailyReportDtoList = tSectionDailyReportMapper
-				.getSectionServiceDailyReportDto(sectionDetailForm.getSectionId(),
-						loginUserDto.getLmsUserId(), Constants.DB_FLG_FALSE);
-		for (SectionServiceDailyReportDto sectionServiceDailyReportDto : sectionServiceDailyReportDtoList) {
-			sectionServiceSectionDto.getReportDtoList().add(sectionServiceDailyReportDto);
+	private <T> T getResult(Future<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
 		}
-		// ファイル情報の設定
-		for (SectionServiceFileDto fileDto : sectionServiceSectionDto.getFileDtoList()) {
-			String hashFileId = passwordUtil.getSaltedAndStrechedPassword(fileDto.getFileId(),
-					loginUserDto.getUserId().toString());
-			fileDto.setFileId(hashFileId);
+	}
+
+	/**
+	 * セクション毎の受講生に依存しない情報（メモリ保持用）<br>
+	 * 共有するため変更しないこと。
+	 */
+	private static final class SectionCache {
+
+		/** セクション */
+		private final MSection mSection;
+		/** ファイルリスト（ハッシュ化前） */
+		private final List<SectionServiceFileDto> fileDtoList;
+		/** 試験リスト（公開状態未設定） */
+		private final List<SectionServiceExamDto> examDtoList;
+		/** 成果物リスト */
+		private final List<SectionServiceDeliverablesSectionDto> deliverablesDtoList;
+		/** 読み込み日時 */
+		private final long loadTime = System.currentTimeMillis();
+
+		private SectionCache(MSection mSection, List<SectionServiceFileDto> fileDtoList,
+				List<SectionServiceExamDto> examDtoList,
+				List<SectionServiceDeliverablesSectionDto> deliverablesDtoList) {
+			this.mSection = mSection;
+			this.fileDtoList = Collections.unmodifiableList(fileDtoList);
+			this.examDtoList = Collections.unmodifiableList(examDtoList);
+			this.deliverablesDtoList = Collections.unmodifiableList(deliverablesDtoList);
 		}
-		sectionServiceSectionDto.setMaxFileSize(Constants.DELIVERABLES_UPLOAD_MAX_SIZE);
 	}
 
 }
@@ -356,11 +356,26 @@ public interface Constants {
 	public static final Short JOIN_UNABLE_FLG = 0;
 	public static final Short JOIN_ABLE_FLG = 1;
 
-	/** パスワードリセットURL（埋め込み文字） */
-	public static final String REPLACE_CHAR_RESET_PASSWORD_URL = ":url:";
+	/** メールテンプレート埋め込み文字名：URL */
+	public static final String MAIL_TEMPLATE_KEY_URL = "url";
 
 	/** 管理者フラグ */
 	public static final Short ADMIN_FLG_FALSE = 0;
 	public static final Short ADMIN_FLG_TRUE = 1;
 
+	/** メール送信状態：未送信 */
+	public static final Short CODE_VAL_MAIL_SEND_STATUS_WAIT = 0;
+	/** メール送信状態：送信済 */
+	public static final Short CODE_VAL_MAIL_SEND_STATUS_SENT = 1;
+	/** メール送信状態：送信失敗 */
+	public static final Short CODE_VAL_MAIL_SEND_STATUS_FAILED = 2;
+
+	/** エクスポートジョブ状態 */
+	public static final String EXPORT_JOB_STATUS_WAIT = "wait";
+	public static final String EXPORT_JOB_STATUS_RUNNING = "running";
+	public static final String EXPORT_JOB_STATUS_COMPLETE = "complete";
+	public static final String EXPORT_JOB_STATUS_FAILED = "failed";
+	public static final String EXPORT_JOB_STATUS_CANCELED = "canceled";
+	public static final String EXPORT_JOB_STATUS_REJECTED = "rejected";
+
 }
\ No newline at end of file
@@ -456,7 +456,7 @@ public class DateUtil {
 		}
 
 		StringTokenizer token = new StringTokenizer(str, "_/-:. ");
-		StringBuffer result = new StringBuffer();
+		StringBuilder result = new StringBuilder();
 		for (int i = 0; token.hasMoreTokens(); i++) {
 			String temp = token.nextToken();
 			switch (i) {
@@ -520,7 +520,7 @@ public class DateUtil {
 			str = "";
 		}
 
-		StringBuffer buffer = new StringBuffer(str);
+		StringBuilder buffer = new StringBuilder(str);
 		while (len > buffer.length()) {
 			if (position.equalsIgnoreCase("l")) {
 				int sum = buffer.length() + addStr.length();
@@ -0,0 +1,58 @@
+package jp.co.sss.lms.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Excelテンプレートキャッシュ<br>
+ * テンプレートファイルはクラスパスから一度だけ読み込んでバイト列で保持し、
+ * ワークブックは取得の都度その原本から作成する（ワークブックは1回のダウンロードで使い捨てとする）。
+ * テンプレートはクラスパス上の固定のファイルのみのため、保持する件数は増え続けない。
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class ExcelTemplateCache {
+
+	/** テンプレートパス毎のファイル内容（原本） */
+	private final Map<String, byte[]> templateMap = new ConcurrentHashMap<>();
+
+	/**
+	 * テンプレートから作成したワークブックを取得
+	 * 
+	 * @param filePath クラスパス上のテンプレートファイルパス
+	 * @return ワークブック（呼び出し元専用）
+	 */
+	public Workbook getWorkbook(String filePath) {
+		byte[] template = templateMap.computeIfAbsent(filePath, this::readTemplate);
+		try (InputStream in = new ByteArrayInputStream(template)) {
+			return WorkbookFactory.create(in);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * クラスパスからテンプレートファイルを読み込む
+	 * 
+	 * @param filePath
+	 * @return ファイル内容
+	 */
+	private byte[] readTemplate(String filePath) {
+		try (InputStream in = new ClassPathResource(filePath).getInputStream()) {
+			return StreamUtils.copyToByteArray(in);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -5,9 +5,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -22,7 +23,8 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.core.io.ClassPathResource;
 
 import jakarta.servlet.ServletOutputStream;
@@ -38,14 +40,14 @@ import jp.co.sss.lms.dto.WorkbookDto;
  */
 public class ExcelUtil {
 
-	@Autowired
-	private static MessageUtil messageUtil;
 	/* 縦軸最大桁数 */
 	public static final int MAX_COL_NUM = 16384;
 	/* エクセル縦軸文字を数値に変換 */
 	public static final String MAX_COL_STR = CellReference.convertNumToColString(ExcelUtil.MAX_COL_NUM - 1);
 	/* ワークブック初期化 */
 	private Workbook wb = null;
+	/* ストリーミングモードのテンプレート（通常モードの場合null） */
+	private XSSFWorkbook templateWb = null;
 
 	/**
 	 * ファイルパスから作成済みのファイルを開く
@@ -60,6 +62,32 @@ public class ExcelUtil {
 		}
 	}
 
+	/**
+	 * 作成済みのワークブックを扱う<br>
+	 * {@link ExcelTemplateCache}から取得したワークブックを使用する場合
+	 * 
+	 * @param wb
+	 */
+	public ExcelUtil(Workbook wb) {
+		this.wb = wb;
+	}
+
+	/**
+	 * 作成済みのワークブックをストリーミングモードで扱う<br>
+	 * テンプレートにある行はそのまま、テンプレートより後ろに追加する行はSXSSFで書き出す。
+	 * メモリ上に保持する追加行は rowWindow 行までとなり、それより前の追加行は一時ファイルに書き出されるため変更できない。
+	 * 
+	 * @param wb        xlsx形式のワークブック
+	 * @param rowWindow メモリ上に保持する行数
+	 */
+	public ExcelUtil(Workbook wb, int rowWindow) {
+		if (!(wb instanceof XSSFWorkbook)) {
+			throw new IllegalArgumentException("ストリーミングモードはxlsx形式のみ対応しています。");
+		}
+		this.templateWb = (XSSFWorkbook) wb;
+		this.wb = new SXSSFWorkbook(templateWb, rowWindow);
+	}
+
 	/**
 	 * 作成済みのファイルを開く
 	 * 
@@ -141,7 +169,7 @@ public class ExcelUtil {
 	 * @param clmNum
 	 */
 	private Cell getCell(String sheetName, int rowNum, int clmNum) {
-		Sheet sheet = wb.getSheet(sheetName);
+		Sheet sheet = getSheet(sheetName, rowNum);
 		Row row = sheet.getRow(rowNum);
 		if (row == null) {
 			row = sheet.createRow(rowNum);
@@ -153,6 +181,185 @@ public class ExcelUtil {
 		return cell;
 	}
 
+	/**
+	 * 行番号に応じたシートを取得<br>
+	 * ストリーミングモードでテンプレート内の行の場合はテンプレートのシートを返す
+	 * 
+	 * @param sheetName
+	 * @param rowNum
+	 * @return シート
+	 */
+	private Sheet getSheet(String sheetName, int rowNum) {
+		if (templateWb != null) {
+			Sheet templateSheet = templateWb.getSheet(sheetName);
+			if (templateSheet != null && templateSheet.getPhysicalNumberOfRows() > 0
+					&& rowNum <= templateSheet.getLastRowNum()) {
+				return templateSheet;
+			}
+		}
+		return wb.getSheet(sheetName);
+	}
+
+	/**
+	 * シート書き込み用カーソルを取得<br>
+	 * 同じシートへ続けて書き込む場合、setValと異なりシートの検索は最初の1回だけとなる
+	 * 
+	 * @param sheetName
+	 * @return シート書き込み用カーソル
+	 */
+	public SheetWriter getSheetWriter(String sheetName) {
+		return new SheetWriter(sheetName);
+	}
+
+	/**
+	 * シート書き込み用カーソル<br>
+	 * 行を指定（または次の行へ移動）してから列を指定して値を設定する
+	 */
+	public class SheetWriter {
+
+		/* 書き込み先シート */
+		private final Sheet sheet;
+		/* ストリーミングモードのテンプレートシート（テンプレート外の場合null） */
+		private final Sheet templateSheet;
+		/* 現在行 */
+		private Row row = null;
+		/* 現在行番号 */
+		private int rowNum = -1;
+
+		private SheetWriter(String sheetName) {
+			this.sheet = wb.getSheet(sheetName);
+			Sheet template = templateWb == null ? null : templateWb.getSheet(sheetName);
+			this.templateSheet = template != null && template.getPhysicalNumberOfRows() > 0 ? template
+					: null;
+		}
+
+		/**
+		 * 指定行へ移動
+		 * 
+		 * @param rowNum
+		 * @return このカーソル
+		 */
+		public SheetWriter row(int rowNum) {
+			if (this.row == null || this.rowNum != rowNum) {
+				Sheet target = templateSheet != null && rowNum <= templateSheet.getLastRowNum()
+						? templateSheet
+						: sheet;
+				Row row = target.getRow(rowNum);
+				if (row == null) {
+					row = target.createRow(rowNum);
+				}
+				this.row = row;
+				this.rowNum = rowNum;
+			}
+			return this;
+		}
+
+		/**
+		 * 次の行へ移動
+		 * 
+		 * @return このカーソル
+		 */
+		public SheetWriter nextRow() {
+			return row(rowNum + 1);
+		}
+
+		/**
+		 * 現在行番号を取得
+		 * 
+		 * @return 現在行番号
+		 */
+		public int getRowNum() {
+			return rowNum;
+		}
+
+		/**
+		 * 現在行のセルを取得
+		 * 
+		 * @param clmNum
+		 * @return セル
+		 */
+		private Cell getCell(int clmNum) {
+			Cell cell = row.getCell(clmNum);
+			if (cell == null) {
+				cell = row.createCell(clmNum);
+			}
+			return cell;
+		}
+
+		/**
+		 * 現在行の指定列に入力文字(String)がある場合は設定
+		 * 
+		 * @param clmNum
+		 * @param value
+		 * @return このカーソル
+		 */
+		public SheetWriter setVal(int clmNum, String value) {
+			Cell cell = getCell(clmNum);
+			if (value != null) {
+				cell.setCellValue(value);
+			}
+			return this;
+		}
+
+		/**
+		 * 現在行の指定列に入力文字(Integer)がある場合は設定
+		 * 
+		 * @param clmNum
+		 * @param value
+		 * @return このカーソル
+		 */
+		public SheetWriter setVal(int clmNum, Integer value) {
+			Cell cell = getCell(clmNum);
+			if (value != null) {
+				cell.setCellValue(value);
+			}
+			return this;
+		}
+
+		/**
+		 * 現在行の指定列に入力文字(double)を設定
+		 * 
+		 * @param clmNum
+		 * @param value
+		 * @return このカーソル
+		 */
+		public SheetWriter setVal(int clmNum, double value) {
+			getCell(clmNum).setCellValue(value);
+			return this;
+		}
+
+		/**
+		 * 現在行の指定列に入力文字(Date)を設定
+		 * 
+		 * @param clmNum
+		 * @param value
+		 * @return このカーソル
+		 */
+		public SheetWriter setVal(int clmNum, Date value) {
+			getCell(clmNum).setCellValue(value);
+			return this;
+		}
+	}
+
+	/**
+	 * ストリーミングモードの一時ファイルを削除する<br>
+	 * ワークブックを書き出した後に呼び出す
+	 */
+	public void dispose() {
+		dispose(wb);
+	}
+
+	/**
+	 * ストリーミングモードの一時ファイルを削除する
+	 * 
+	 * @param wb
+	 */
+	public static void dispose(Workbook wb) {
+		if (wb instanceof SXSSFWorkbook) {
+			((SXSSFWorkbook) wb).dispose();
+		}
+	}
+
 	/**
 	 * ワークブックを取得<br>
 	 * 
@@ -193,11 +400,12 @@ public class ExcelUtil {
 		CellStyle cellstyle = null;
 		short height = 0;
 		for (int i = st; i < en; i++) {
-			row = sheet.getRow(i);
+			row = getSheet(sheetName, i).getRow(i);
 			if (row != null) {
 				height = row.getHeight();
 				// 最終行をベースに下(Row)へコピーしていく。
-				row2 = sheet.createRow((en - st) * cnt + i);
+				int rowNum2 = (en - st) * cnt + i;
+				row2 = getSheet(sheetName, rowNum2).createRow(rowNum2);
 				row2.setHeight(height);
 				for (int j = 0; j < row.getLastCellNum(); j++) {
 					cell = row.getCell(j);
@@ -227,11 +435,11 @@ public class ExcelUtil {
 				}
 			}
 		}
-		// 結合状態を設定
+		// 結合状態を設定（コピー元の範囲内のみ。以前のコピーで追加した結合は対象外）
 		CellRangeAddress cra = null;
 		for (int i = 0; i < x; i++) {
 			cra = sheet.getMergedRegion(i);
-			if (cra.getFirstRow() >= st) {
+			if (cra.getFirstRow() >= st && cra.getLastRow() < en) {
 				CellRangeAddress newCra = new CellRangeAddress(cra.getFirstRow() + (en - st) * cnt,
 						cra.getLastRow() + (en - st) * cnt, cra.getFirstColumn(), cra.getLastColumn());
 				sheet.addMergedRegion(newCra);
@@ -248,18 +456,31 @@ public class ExcelUtil {
 	 */
 	public static void downloadBook(WorkbookDto workbookDto, HttpServletResponse response) throws IOException {
 
-		String fileNameSjis = new String(workbookDto.getWbName().getBytes("Shift_JIS"), "ISO-8859-1").replace(" ",
-				"%20");
-		String fileNameUtf8 = URLEncoder.encode(workbookDto.getWbName(), "UTF-8").replace("+", "%20");
-		response.setContentType("application/octet-stream");
-		response.setHeader("Content-Disposition",
-				"attachment;filename=" + fileNameSjis + ";filename*=utf-8''" + fileNameUtf8);
+		setDownloadHeader(workbookDto.getWbName(), response);
 
 		try (ServletOutputStream out = response.getOutputStream()) {
 			workbookDto.getWb().write(out);
+		} finally {
+			dispose(workbookDto.getWb());
 		}
 	}
 
+	/**
+	 * ダウンロード用のレスポンスヘッダを設定する
+	 * 
+	 * @param fileName
+	 * @param response
+	 * @throws IOException
+	 */
+	public static void setDownloadHeader(String fileName, HttpServletResponse response) throws IOException {
+
+		String fileNameSjis = new String(fileName.getBytes("Shift_JIS"), "ISO-8859-1").replace(" ", "%20");
+		String fileNameUtf8 = URLEncoder.encode(fileName, "UTF-8").replace("+", "%20");
+		response.setContentType("application/octet-stream");
+		response.setHeader("Content-Disposition",
+				"attachment;filename=" + fileNameSjis + ";filename*=utf-8''" + fileNameUtf8);
+	}
+
 	/**
 	 * Workbookの一括ダウンロードを行う
 	 * 
@@ -269,34 +490,7 @@ public class ExcelUtil {
 	 */
 	public static void downloadBookInZip(List<WorkbookDto> workbookDtoList, HttpServletResponse response)
 			throws IOException {
-		try (ZipOutputStream zos = new ZipOutputStream(response.getOutputStream(), Charset.forName("MS932"))) {
-			List<String> wbNameList = new ArrayList<String>();
-			for (WorkbookDto workbookDto : workbookDtoList) {
-
-				// もし、同名のファイルがあった場合ファイル名末尾に「(n)」を付与する
-				int count = 1;
-				String wbName = workbookDto.getWbName();
-				while (wbNameList.contains(wbName)) {
-					String prefix = FileUtil.getPrefix(workbookDto.getWbName());
-					String suffix = FileUtil.getSuffix(workbookDto.getWbName());
-					wbName = prefix + "(" + count + ")." + suffix;
-					count++;
-				}
-				wbNameList.add(wbName);
-
-				ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				String zipName = "レポート";
-				String fileName = new String((zipName + new Date().getTime()).getBytes("Windows-31J"), "ISO-8859-1");
-				fileName += ".zip";
-				response.setContentType("application/octet-stream");
-				response.setHeader("Content-Disposition", "filename=\"" + fileName + "\"");
-				workbookDto.getWb().write(baos);
-
-				zos.putNextEntry(new ZipEntry(wbName));
-				zos.write(baos.toByteArray(), 0, baos.toByteArray().length);
-				zos.closeEntry();
-			}
-		}
+		downloadInZip("レポート", workbookDtoList, response);
 	}
 
 	/**
@@ -308,36 +502,70 @@ public class ExcelUtil {
 	 */
 	public static void downloadReportInZip(List<WorkbookDto> workbookDtoList, HttpServletResponse response)
 			throws IOException {
+		downloadInZip("レポート", workbookDtoList, response);
+	}
+
+	/**
+	 * Workbookをzipにまとめてダウンロードする
+	 * 
+	 * @param zipName
+	 * @param workbookDtoList
+	 * @param response
+	 * @throws IOException
+	 */
+	private static void downloadInZip(String zipName, List<WorkbookDto> workbookDtoList,
+			HttpServletResponse response) throws IOException {
+		setZipDownloadHeader(zipName, response);
 		try (ZipOutputStream zos = new ZipOutputStream(response.getOutputStream(), Charset.forName("MS932"))) {
-			List<String> wbNameList = new ArrayList<String>();
+			Set<String> wbNameSet = new HashSet<>();
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
 			for (WorkbookDto workbookDto : workbookDtoList) {
-
-				// もし、同名のファイルがあった場合ファイル名末尾に「(n)」を付与する
-				int count = 1;
-				String wbName = workbookDto.getWbName();
-				while (wbNameList.contains(wbName)) {
-					String prefix = FileUtil.getPrefix(workbookDto.getWbName());
-					String suffix = FileUtil.getSuffix(workbookDto.getWbName());
-					wbName = prefix + "(" + count + ")." + suffix;
-					count++;
+				baos.reset();
+				try {
+					workbookDto.getWb().write(baos);
+				} finally {
+					dispose(workbookDto.getWb());
 				}
-				wbNameList.add(wbName);
-
-				ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				String zipName = messageUtil.getMessage("dailyReportId");
-				String fileName = new String((zipName + new Date().getTime()).getBytes("Windows-31J"), "ISO-8859-1");
-				fileName += ".zip";
-				response.setContentType("application/octet-stream");
-				response.setHeader("Content-Disposition", "filename=\"" + fileName + "\"");
-				workbookDto.getWb().write(baos);
-
-				zos.putNextEntry(new ZipEntry(wbName));
-				zos.write(baos.toByteArray(), 0, baos.toByteArray().length);
+
+				zos.putNextEntry(new ZipEntry(getUniqueName(wbNameSet, workbookDto.getWbName())));
+				baos.writeTo(zos);
 				zos.closeEntry();
 			}
 		}
 	}
 
+	/**
+	 * zipダウンロード用のレスポンスヘッダを設定する
+	 * 
+	 * @param zipName
+	 * @param response
+	 * @throws IOException
+	 */
+	public static void setZipDownloadHeader(String zipName, HttpServletResponse response) throws IOException {
+		String fileName = new String((zipName + new Date().getTime()).getBytes("Windows-31J"), "ISO-8859-1");
+		fileName += ".zip";
+		response.setContentType("application/octet-stream");
+		response.setHeader("Content-Disposition", "filename=\"" + fileName + "\"");
+	}
+
+	/**
+	 * zip内で重複しないファイル名を取得する<br>
+	 * もし、同名のファイルがあった場合ファイル名末尾に「(n)」を付与する
+	 * 
+	 * @param nameSet 使用済みのファイル名
+	 * @param name
+	 * @return ファイル名
+	 */
+	public static String getUniqueName(Set<String> nameSet, String name) {
+		int count = 1;
+		String uniqueName = name;
+		while (!nameSet.add(uniqueName)) {
+			uniqueName = FileUtil.getPrefix(name) + "(" + count + ")." + FileUtil.getSuffix(name);
+			count++;
+		}
+		return uniqueName;
+	}
+
 	/**
 	 * シート存在チェック
 	 * 
@@ -0,0 +1,128 @@
+package jp.co.sss.lms.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jp.co.sss.lms.dto.LoginUserDto;
+
+/**
+ * フラグメントキャッシュユーティリティ<br>
+ * ユーザーに依存しないフラグメント（ロール毎のヘッダーメニュー等）の出力をキー毎に保持する。
+ * テンプレートキャッシュが無効な場合は毎回出力する。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+public class FragmentCacheUtil {
+
+	/** ヘッダーメニューのテンプレート */
+	private static final String MENU_TEMPLATE = "common/menu";
+	/** ヘッダーメニューのフラグメント */
+	private static final String MENU_FRAGMENT = "layout-menu";
+
+	@Autowired
+	private ITemplateEngine templateEngine;
+	@Autowired
+	private ServletContext servletContext;
+	@Autowired
+	private HttpServletRequest request;
+	@Autowired
+	private HttpServletResponse response;
+	@Autowired
+	private LoginUserDto loginUserDto;
+
+	@Value("${spring.thymeleaf.cache}")
+	private boolean cacheEnabled;
+
+	/** キー毎のフラグメントの出力 */
+	private final Map<String, String> fragmentMap = new ConcurrentHashMap<>();
+
+	private JakartaServletWebApplication webApplication;
+
+	/**
+	 * 初期化
+	 */
+	@PostConstruct
+	public void init() {
+		webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+	}
+
+	/**
+	 * ヘッダーメニューの取得<br>
+	 * ロールとファイル共有フラグ毎に出力を共有する。
+	 *
+	 * @return ヘッダーメニューのHTML
+	 */
+	public String getMenu() {
+		String role = loginUserDto.getRole();
+		boolean fileShare = loginUserDto.getFileShareFlg() != null
+				&& loginUserDto.getFileShareFlg() == Constants.DB_FLG_TRUE;
+		String key = MENU_FRAGMENT + ":" + request.getContextPath() + ":" + role + ":" + fileShare;
+		return getFragment(key, MENU_TEMPLATE, MENU_FRAGMENT,
+				Map.of("role", role == null ? "" : role, "fileShare", fileShare));
+	}
+
+	/**
+	 * フラグメントの取得（未出力の場合は出力）
+	 *
+	 * @param key
+	 * @param template
+	 * @param fragment
+	 * @param variables
+	 * @return フラグメントのHTML
+	 */
+	private String getFragment(String key, String template, String fragment,
+			Map<String, Object> variables) {
+		if (!cacheEnabled) {
+			return process(template, fragment, variables);
+		}
+		String html = fragmentMap.get(key);
+		if (html == null) {
+			html = process(template, fragment, variables);
+			fragmentMap.put(key, html);
+		}
+		return html;
+	}
+
+	/**
+	 * フラグメントの出力<br>
+	 * 共有する出力にセッションIDが含まれないよう、URLの書き換えは行わない。
+	 *
+	 * @param template
+	 * @param fragment
+	 * @param variables
+	 * @return フラグメントのHTML
+	 */
+	private String process(String template, String fragment, Map<String, Object> variables) {
+		HttpServletResponse noRewriteResponse = new HttpServletResponseWrapper(response) {
+			@Override
+			public String encodeURL(String url) {
+				return url;
+			}
+
+			@Override
+			public String encodeRedirectURL(String url) {
+				return url;
+			}
+		};
+		WebContext context = new WebContext(
+				webApplication.buildExchange(request, noRewriteResponse), Locale.getDefault(),
+				variables);
+		return templateEngine.process(template, Set.of(fragment), context);
+	}
+
+}
@@ -40,7 +40,7 @@ public class LoggingUtil {
 	 * 
 	 * @param sb
 	 */
-	public void appendLog(StringBuffer sb) {
+	public void appendLog(StringBuilder sb) {
 
 		sb.append(request.getRequestURI());
 
@@ -1,10 +1,16 @@
 package jp.co.sss.lms.util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.entity.LoginUser;
 import jp.co.sss.lms.exception.NoLoginException;
+import jp.co.sss.lms.mapper.LoginMapper;
 
 /**
  * ログインユーザーユーティリティ
@@ -16,6 +22,13 @@ public class LoginUserUtil {
 
 	@Autowired
 	private LoginUserDto loginUserDto;
+	@Autowired
+	private LoginMapper loginMapper;
+	@Autowired
+	private SettingProperties settingProperties;
+
+	/** LMSユーザーID毎のログインユーザー（表示用の共有キャッシュ） */
+	private final Map<Integer, CachedLoginUser> loginUserMap = new ConcurrentHashMap<>();
 
 	/**
 	 * ログインしているユーザーが管理者か判定
@@ -107,4 +120,54 @@ public class LoginUserUtil {
 		}
 	}
 
+	/**
+	 * 表示用のログインユーザー情報の復元<br>
+	 * セッションの復元等で表示用の情報を持たない場合、共有キャッシュ（なければDB）から設定する。
+	 */
+	public void restoreLoginUser() {
+		if (!isLogin() || loginUserDto.getLoginUser() != null) {
+			return;
+		}
+		Integer lmsUserId = loginUserDto.getLmsUserId();
+		CachedLoginUser cachedLoginUser = loginUserMap.get(lmsUserId);
+		long cacheExpire = settingProperties.getLoginuser().getCache().getExpire().toMillis();
+		if (cachedLoginUser == null
+				|| System.currentTimeMillis() - cachedLoginUser.loadTime >= cacheExpire) {
+			LoginUser loginUser = loginMapper.getLoginDetailByLmsUserId(lmsUserId,
+					Constants.DB_FLG_FALSE);
+			if (loginUser == null) {
+				return;
+			}
+			cachedLoginUser = new CachedLoginUser(loginUser);
+			loginUserMap.put(lmsUserId, cachedLoginUser);
+		}
+		loginUserDto.setLoginUser(cachedLoginUser.loginUser);
+	}
+
+	/**
+	 * 保持期間を過ぎたログインユーザーの破棄
+	 */
+	@Scheduled(fixedDelayString = "${setting.loginuser.cache.expire}")
+	public void purge() {
+		long now = System.currentTimeMillis();
+		long cacheExpire = settingProperties.getLoginuser().getCache().getExpire().toMillis();
+		loginUserMap.values()
+				.removeIf(cachedLoginUser -> now - cachedLoginUser.loadTime >= cacheExpire);
+	}
+
+	/**
+	 * 共有キャッシュのログインユーザー
+	 */
+	private static final class CachedLoginUser {
+
+		/** ログインユーザー */
+		private final LoginUser loginUser;
+		/** 読み込み日時 */
+		private final long loadTime = System.currentTimeMillis();
+
+		private CachedLoginUser(LoginUser loginUser) {
+			this.loginUser = loginUser;
+		}
+	}
+
 }
@@ -0,0 +1,119 @@
+package jp.co.sss.lms.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * メールテンプレート<br>
+ * テンプレート文字列を固定文字列と埋め込み文字（:name:）の並びに分解して保持し、
+ * 埋め込み文字を置き換えた文字列を作成する。生成後は変更されないため、複数スレッドで共有できる。
+ * 
+ * @author 東京ITスクール
+ */
+public final class MailTemplate {
+
+	/** 埋め込み文字 */
+	private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile(":([A-Za-z][A-Za-z0-9_]*):");
+
+	/** テンプレートの構成要素 */
+	private final List<Segment> segmentList;
+	/** 固定文字列の合計文字数 */
+	private final int literalLength;
+
+	private MailTemplate(List<Segment> segmentList, int literalLength) {
+		this.segmentList = segmentList;
+		this.literalLength = literalLength;
+	}
+
+	/**
+	 * テンプレートの解析
+	 * 
+	 * @param template テンプレート文字列
+	 * @return メールテンプレート
+	 */
+	public static MailTemplate compile(String template) {
+		List<Segment> segmentList = new ArrayList<>();
+		int literalLength = 0;
+		int start = 0;
+		Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
+		while (matcher.find()) {
+			if (matcher.start() > start) {
+				segmentList.add(new Segment(template.substring(start, matcher.start()), false));
+				literalLength += matcher.start() - start;
+			}
+			segmentList.add(new Segment(matcher.group(1), true));
+			start = matcher.end();
+		}
+		if (start < template.length()) {
+			segmentList.add(new Segment(template.substring(start), false));
+			literalLength += template.length() - start;
+		}
+		return new MailTemplate(Collections.unmodifiableList(segmentList), literalLength);
+	}
+
+	/**
+	 * 埋め込み文字の置き換え<br>
+	 * 値のない埋め込み文字はそのまま残す。
+	 * 
+	 * @param values 埋め込み文字名と値
+	 * @return 置き換え後の文字列
+	 */
+	public String render(Map<String, String> values) {
+		int length = literalLength;
+		for (Segment segment : segmentList) {
+			if (segment.placeholder) {
+				String value = values.get(segment.text);
+				length += value != null ? value.length() : segment.text.length() + 2;
+			}
+		}
+		StringBuilder sb = new StringBuilder(length);
+		for (Segment segment : segmentList) {
+			if (!segment.placeholder) {
+				sb.append(segment.text);
+				continue;
+			}
+			String value = values.get(segment.text);
+			if (value != null) {
+				sb.append(value);
+			} else {
+				sb.append(':').append(segment.text).append(':');
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 埋め込み文字の一括置き換え
+	 * 
+	 * @param valuesList 宛先毎の埋め込み文字名と値
+	 * @return 置き換え後の文字列リスト（引数と同順）
+	 */
+	public List<String> renderAll(List<Map<String, String>> valuesList) {
+		List<String> resultList = new ArrayList<>(valuesList.size());
+		for (Map<String, String> values : valuesList) {
+			resultList.add(render(values));
+		}
+		return resultList;
+	}
+
+	/**
+	 * テンプレートの構成要素
+	 */
+	private static final class Segment {
+
+		/** 固定文字列または埋め込み文字名 */
+		private final String text;
+		/** 埋め込み文字の場合true */
+		private final boolean placeholder;
+
+		private Segment(String text, boolean placeholder) {
+			this.text = text;
+			this.placeholder = placeholder;
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package jp.co.sss.lms.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jp.co.sss.lms.dto.MailDto;
+
+/**
+ * メールテンプレートユーティリティ<br>
+ * messages.propertiesのメール件名・本文をメッセージIDごとに一度だけ解析して保持する。
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class MailTemplateUtil {
+
+	@Autowired
+	private MessageUtil messageUtil;
+
+	/** メッセージID毎のメールテンプレート */
+	private final Map<String, MailTemplate> templateMap = new ConcurrentHashMap<>();
+
+	/**
+	 * メールテンプレートの取得
+	 * 
+	 * @param messageId
+	 * @return メールテンプレート
+	 */
+	public MailTemplate getTemplate(String messageId) {
+		return templateMap.computeIfAbsent(messageId,
+				key -> MailTemplate.compile(messageUtil.getMessage(key)));
+	}
+
+	/**
+	 * メールテンプレートの適用
+	 * 
+	 * @param messageId
+	 * @param values 埋め込み文字名と値
+	 * @return 置き換え後の文字列
+	 */
+	public String render(String messageId, Map<String, String> values) {
+		return getTemplate(messageId).render(values);
+	}
+
+	/**
+	 * 宛先毎に差し込んだメールの一括作成
+	 * 
+	 * @param subjectId 件名のメッセージID
+	 * @param bodyId 本文のメッセージID
+	 * @param toList 宛先リスト
+	 * @param valuesList 宛先毎の埋め込み文字名と値（宛先リストと同順）
+	 * @return メールDTOリスト
+	 */
+	public List<MailDto> createMailDtoList(String subjectId, String bodyId, List<String> toList,
+			List<Map<String, String>> valuesList) {
+		if (toList.size() != valuesList.size()) {
+			throw new IllegalArgumentException("宛先と差し込み値の件数が一致しません。");
+		}
+		MailTemplate subjectTemplate = getTemplate(subjectId);
+		MailTemplate bodyTemplate = getTemplate(bodyId);
+		List<MailDto> mailDtoList = new ArrayList<>(toList.size());
+		for (int i = 0; i < toList.size(); i++) {
+			Map<String, String> values = valuesList.get(i);
+			MailDto mailDto = new MailDto();
+			mailDto.setMailAddressTo(toList.get(i));
+			mailDto.setSubject(subjectTemplate.render(values));
+			mailDto.setBody(bodyTemplate.render(values));
+			mailDtoList.add(mailDto);
+		}
+		return mailDtoList;
+	}
+
+}
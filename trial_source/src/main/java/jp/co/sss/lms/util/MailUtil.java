@@ -1,10 +1,30 @@
 package jp.co.sss.lms.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
 import org.springframework.mail.MailSender;
 import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
 /**
  * メールユーティリティ
  * 
@@ -16,7 +36,26 @@ public class MailUtil {
 	@Autowired
 	private MailSender mailSender;
 	@Autowired
-	private MessageUtil messageUtil;
+	private JavaMailSenderImpl javaMailSender;
+	@Autowired
+	private SettingProperties settingProperties;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** 接続済のSMTP接続 */
+	private BlockingQueue<Transport> transportPool;
+	/** SMTP接続での同時送信数の制限 */
+	private Semaphore transportSemaphore;
+
+	/**
+	 * SMTP接続プールの初期化
+	 */
+	@PostConstruct
+	public void init() {
+		int transportPoolSize = settingProperties.getMail().getTransport().getPool().getSize();
+		transportPool = new ArrayBlockingQueue<>(transportPoolSize);
+		transportSemaphore = new Semaphore(transportPoolSize);
+	}
 	
 	/**
 	 * メール送信
@@ -28,7 +67,7 @@ public class MailUtil {
 	 */
 	public void sendMail(String to, String[] cc, String subject, String text) {
 		SimpleMailMessage msg = new SimpleMailMessage();
-		msg.setFrom(messageUtil.getMessage("setting.mail.sender.address"));
+		msg.setFrom(settingProperties.getMail().getSender().getAddress());
 		msg.setTo(to);
 		msg.setCc(cc);
 		msg.setSubject(subject);
@@ -37,4 +76,170 @@ public class MailUtil {
 		this.mailSender.send(msg);
 	}
 
+	/**
+	 * メールの作成
+	 * 
+	 * @param to
+	 * @param cc
+	 * @param bcc
+	 * @param subject
+	 * @param text
+	 * @return メール
+	 */
+	public SimpleMailMessage createMail(String[] to, String[] cc, String[] bcc, String subject,
+			String text) {
+		SimpleMailMessage msg = new SimpleMailMessage();
+		msg.setFrom(settingProperties.getMail().getSender().getAddress());
+		msg.setTo(to);
+		msg.setCc(cc);
+		msg.setBcc(bcc);
+		msg.setSubject(subject);
+		msg.setText(text);
+		return msg;
+	}
+
+	/**
+	 * メール一括送信<br>
+	 * プールしたSMTP接続で順に送信し、メール毎の送信結果を返す。
+	 * 送信速度は1回の一括送信あたりの送信速度を上限とする。SMTP接続は一括送信の間借りたままとし、
+	 * 送信の合間は同時送信数の枠のみを空けて他の送信に使わせる。送信期限を過ぎた場合、残りのメールは送信しない。
+	 * 
+	 * @param msgList
+	 * @param deadline 送信期限（System.nanoTime()の値）
+	 * @return メールリストと同順の送信結果（成功した場合null、失敗した場合は例外）。送信しなかったメールの分は含まない
+	 */
+	public List<Exception> sendMail(List<SimpleMailMessage> msgList, long deadline) {
+		List<Exception> resultList = new ArrayList<>(msgList.size());
+		if (msgList.isEmpty()) {
+			return resultList;
+		}
+		double sendRate = settingProperties.getMail().getSend().getRate();
+		long sendInterval = sendRate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / sendRate) : 0;
+		long start = System.nanoTime();
+		int failed = 0;
+		Transport transport = null;
+		try {
+			for (int i = 0; i < msgList.size(); i++) {
+				// 送信にかかった時間を含めて送信速度の上限に合わせる
+				long sendTime = start + sendInterval * i;
+				if (sendTime - deadline > 0) {
+					break;
+				}
+				long wait = sendTime - System.nanoTime();
+				if (wait > 0) {
+					TimeUnit.NANOSECONDS.sleep(wait);
+				}
+				if (System.nanoTime() - deadline > 0) {
+					break;
+				}
+				transportSemaphore.acquire();
+				try {
+					if (transport == null) {
+						try {
+							transport = borrowTransport();
+						} catch (MessagingException e) {
+							// 接続できない場合は残り全件を失敗とする
+							failed += msgList.size() - i;
+							resultList.addAll(Collections.nCopies(msgList.size() - i, e));
+							break;
+						}
+					}
+					try {
+						MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+						msgList.get(i).copyTo(new MimeMailMessage(mimeMessage));
+						mimeMessage.setSentDate(new Date());
+						mimeMessage.saveChanges();
+						transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+						resultList.add(null);
+					} catch (MessagingException | MailException e) {
+						failed++;
+						resultList.add(e);
+						// 切断された場合のみ次のメールで接続し直す（接続確認は失敗時のみ行う）
+						if (!transport.isConnected()) {
+							close(transport);
+							transport = null;
+						}
+					}
+				} finally {
+					transportSemaphore.release();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failed += msgList.size() - resultList.size();
+			resultList.addAll(Collections.nCopies(msgList.size() - resultList.size(), e));
+		} finally {
+			releaseTransport(transport);
+		}
+
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		logger.info("メール一括送信 件数=" + msgList.size() + " 失敗=" + failed + " 未送信="
+				+ (msgList.size() - resultList.size()) + " 時間=" + elapsed + "ms 送信速度="
+				+ String.format("%.1f", resultList.size() * 1000d / Math.max(elapsed, 1)) + "通/秒");
+		return resultList;
+	}
+
+	/**
+	 * SMTP接続プールの破棄
+	 */
+	@PreDestroy
+	public void shutdown() {
+		Transport transport;
+		while ((transport = transportPool.poll()) != null) {
+			close(transport);
+		}
+	}
+
+	/**
+	 * SMTP接続の取得<br>
+	 * プールに接続中のものがあれば再利用し、なければ新たに接続する。
+	 * 接続確認（NOOP）は一括送信毎にこの取得時のみ行う。
+	 * 
+	 * @return 接続済のSMTP接続
+	 * @throws MessagingException
+	 */
+	private Transport borrowTransport() throws MessagingException {
+		Transport transport;
+		while ((transport = transportPool.poll()) != null) {
+			if (transport.isConnected()) {
+				return transport;
+			}
+			close(transport);
+		}
+		String protocol = javaMailSender.getProtocol() != null ? javaMailSender.getProtocol()
+				: JavaMailSenderImpl.DEFAULT_PROTOCOL;
+		transport = javaMailSender.getSession().getTransport(protocol);
+		transport.connect(javaMailSender.getHost(), javaMailSender.getPort(),
+				javaMailSender.getUsername(), javaMailSender.getPassword());
+		return transport;
+	}
+
+	/**
+	 * SMTP接続の返却<br>
+	 * プールに空きがない場合は切断する。接続確認は次の取得時に行う。
+	 * 
+	 * @param transport
+	 */
+	private void releaseTransport(Transport transport) {
+		if (transport != null && !transportPool.offer(transport)) {
+			close(transport);
+		}
+	}
+
+	/**
+	 * SMTP接続の切断
+	 * 
+	 * @param transport
+	 */
+	private void close(Transport transport) {
+		if (transport == null) {
+			return;
+		}
+		try {
+			transport.close();
+		} catch (MessagingException e) {
+			logger.warn("SMTP接続の切断に失敗しました。" + e.getMessage());
+		}
+	}
+
 }
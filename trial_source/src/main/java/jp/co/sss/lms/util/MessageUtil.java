@@ -1,49 +1,69 @@
 package jp.co.sss.lms.util;
 
+import java.text.MessageFormat;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Component;
 
 /**
- * メッセージユーティリティ
- * 
+ * メッセージユーティリティ<br>
+ * 解決済のメッセージと引数付きメッセージの書式はメッセージID毎に保持する。
+ *
  * @author 東京ITスクール
  */
 @Component
 public class MessageUtil {
-	
+
 	@Autowired
 	private MessageSource messageSource;
-	
+
+	/** メッセージID毎の解決済メッセージ */
+	private final Map<String, String> messageMap = new ConcurrentHashMap<>();
+	/** メッセージID毎の書式 */
+	private final Map<String, MessageFormat> messageFormatMap = new ConcurrentHashMap<>();
+
 	/**
 	 * メッセージ取得（第二引数なし）
-	 * 
+	 *
 	 * @param messageId
 	 * @return メッセージ
 	 */
 	public String getMessage(String messageId) {
-		String message = messageSource.getMessage(messageId, null, Locale.getDefault());
-		if (message == null || message.equals("")) {
-			return "";
+		String message = messageMap.get(messageId);
+		if (message == null) {
+			message = messageSource.getMessage(messageId, null, Locale.getDefault());
+			if (message == null) {
+				message = "";
+			}
+			messageMap.put(messageId, message);
 		}
 		return message;
 	}
-	
+
 	/**
 	 * メッセージ取得（第二引数あり）
-	 * 
+	 *
 	 * @param messageId
 	 * @param values
 	 * @return メッセージ
 	 */
 	public String getMessage(String messageId, String[] values) {
-		String message = messageSource.getMessage(messageId, values, Locale.getDefault());
-		if (message == null || message.equals("")) {
-			return "";
+		if (values == null || values.length == 0) {
+			return getMessage(messageId);
+		}
+		MessageFormat messageFormat = messageFormatMap.get(messageId);
+		if (messageFormat == null) {
+			messageFormat = messageFormatMap.computeIfAbsent(messageId,
+					key -> new MessageFormat(getMessage(key), Locale.getDefault()));
+		}
+		// MessageFormatはスレッドセーフではないため書式毎に排他する
+		synchronized (messageFormat) {
+			return messageFormat.format(values);
 		}
-		return message;
 	}
 
 }
@@ -75,7 +75,7 @@ public class PasswordUtil {
 	 */
 	private String getSha256(String target) {
 		MessageDigest md = null;
-		StringBuffer buf = new StringBuffer();
+		StringBuilder buf = new StringBuilder();
 		try {
 			md = MessageDigest.getInstance("SHA-256");
 			md.update(target.getBytes());
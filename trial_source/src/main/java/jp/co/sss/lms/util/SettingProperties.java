@@ -0,0 +1,346 @@
+package jp.co.sss.lms.util;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 設定値<br>
+ * setting.propertiesの値のうち、処理中に参照するものを起動時に型変換して保持する。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+@ConfigurationProperties(prefix = "setting")
+@Data
+public class SettingProperties {
+
+	/** 有効期限 */
+	private final Timelimit timelimit = new Timelimit();
+	/** メール */
+	private final Mail mail = new Mail();
+	/** ファイル */
+	private final File file = new File();
+	/** 問い合わせ先メールアドレス */
+	private String tismail;
+	/** 今日の一問 */
+	private final Dailyquestion dailyquestion = new Dailyquestion();
+	/** お知らせ */
+	private final CacheTarget info = new CacheTarget();
+	/** セクション詳細 */
+	private final CacheTarget section = new CacheTarget();
+	/** ログインユーザー情報 */
+	private final CacheTarget loginuser = new CacheTarget();
+	/** レポート */
+	private final Report report = new Report();
+	/** Excel */
+	private final Excel excel = new Excel();
+	/** エクスポートジョブ */
+	private final Export export = new Export();
+
+	/**
+	 * 有効期限の設定値
+	 */
+	@Data
+	public static class Timelimit {
+
+		/** パスワード再設定URLの有効期限（時間） */
+		private int hour;
+
+	}
+
+	/**
+	 * メールの設定値
+	 */
+	@Data
+	public static class Mail {
+
+		/** 送信元 */
+		private final Sender sender = new Sender();
+		/** 送信 */
+		private final Send send = new Send();
+		/** 送信失敗 */
+		private final Fail fail = new Fail();
+		/** 送信キュー */
+		private final Que que = new Que();
+		/** 一括送信 */
+		private final Batch batch = new Batch();
+		/** 送信キューのロック */
+		private final MailLock lock = new MailLock();
+		/** 再送 */
+		private final Retry retry = new Retry();
+		/** SMTP接続 */
+		private final Transport transport = new Transport();
+
+	}
+
+	/**
+	 * メール送信元の設定値
+	 */
+	@Data
+	public static class Sender {
+
+		/** 送信元メールアドレス */
+		private String address;
+
+	}
+
+	/**
+	 * メール送信の設定値
+	 */
+	@Data
+	public static class Send {
+
+		/** メール送信フラグ（0の場合は送信しない） */
+		private short flg;
+		/** 1回の一括送信あたりの送信速度（通/秒。0以下の場合は制限しない） */
+		private double rate;
+
+	}
+
+	/**
+	 * メール送信失敗の設定値
+	 */
+	@Data
+	public static class Fail {
+
+		/** 送信失敗通知 */
+		private final Notification notification = new Notification();
+
+	}
+
+	/**
+	 * メール送信失敗通知の設定値
+	 */
+	@Data
+	public static class Notification {
+
+		/** 送信失敗通知の期間（回数） */
+		private int period;
+
+	}
+
+	/**
+	 * メール送信キューの設定値
+	 */
+	@Data
+	public static class Que {
+
+		/** メール送信キュー取得の待ち時間 */
+		@DurationUnit(ChronoUnit.SECONDS)
+		private Duration wait = Duration.ZERO;
+
+	}
+
+	/**
+	 * メール一括送信の設定値
+	 */
+	@Data
+	public static class Batch {
+
+		/** メール送信キューの一括送信件数 */
+		private int size;
+
+	}
+
+	/**
+	 * メール送信キューのロックの設定値
+	 */
+	@Data
+	public static class MailLock {
+
+		/** ロック期限 */
+		@DurationUnit(ChronoUnit.SECONDS)
+		private Duration timeout = Duration.ZERO;
+
+	}
+
+	/**
+	 * メール再送の設定値
+	 */
+	@Data
+	public static class Retry {
+
+		/** 再送の待ち時間 */
+		@DurationUnit(ChronoUnit.SECONDS)
+		private Duration interval = Duration.ZERO;
+		/** 上限 */
+		private final RetryMax max = new RetryMax();
+
+	}
+
+	/**
+	 * メール再送の上限の設定値
+	 */
+	@Data
+	public static class RetryMax {
+
+		/** 再送の待ち時間の上限 */
+		@DurationUnit(ChronoUnit.SECONDS)
+		private Duration interval = Duration.ZERO;
+
+	}
+
+	/**
+	 * SMTP接続の設定値
+	 */
+	@Data
+	public static class Transport {
+
+		/** プール */
+		private final TransportPool pool = new TransportPool();
+
+	}
+
+	/**
+	 * SMTP接続プールの設定値
+	 */
+	@Data
+	public static class TransportPool {
+
+		/** SMTP接続のプール数 */
+		private int size;
+
+	}
+
+	/**
+	 * ファイルの設定値
+	 */
+	@Data
+	public static class File {
+
+		/** 共通ファイル */
+		private final Common common = new Common();
+
+	}
+
+	/**
+	 * 共通ファイルの設定値
+	 */
+	@Data
+	public static class Common {
+
+		/** 共通ファイル格納場所 */
+		private String dir;
+
+	}
+
+	/**
+	 * 今日の一問の設定値
+	 */
+	@Data
+	public static class Dailyquestion {
+
+		/** 更新時刻（時） */
+		private int updatehour;
+		/** 回答状況 */
+		private final CacheTarget result = new CacheTarget();
+
+	}
+
+	/**
+	 * メモリ上に保持する情報の設定値
+	 */
+	@Data
+	public static class CacheTarget {
+
+		/** 保持 */
+		private final Cache cache = new Cache();
+
+	}
+
+	/**
+	 * メモリ上の保持の設定値
+	 */
+	@Data
+	public static class Cache {
+
+		/** 保持期間 */
+		@DurationUnit(ChronoUnit.MILLIS)
+		private Duration expire = Duration.ZERO;
+
+	}
+
+	/**
+	 * レポートの設定値
+	 */
+	@Data
+	public static class Report {
+
+		/** レポートテンプレート */
+		private final CacheTarget template = new CacheTarget();
+		/** 一括ダウンロード */
+		private final Download download = new Download();
+
+	}
+
+	/**
+	 * レポート一括ダウンロードの設定値
+	 */
+	@Data
+	public static class Download {
+
+		/** 同時作成数 */
+		private int threads;
+
+	}
+
+	/**
+	 * Excelの設定値
+	 */
+	@Data
+	public static class Excel {
+
+		/** 行 */
+		private final Row row = new Row();
+
+	}
+
+	/**
+	 * Excel行の設定値
+	 */
+	@Data
+	public static class Row {
+
+		/** ストリーミング書き出しでメモリ上に保持する行数 */
+		private int window;
+
+	}
+
+	/**
+	 * エクスポートジョブの設定値
+	 */
+	@Data
+	public static class Export {
+
+		/** 実行スレッド数 */
+		private int threads;
+		/** 待ち件数の上限 */
+		private int queue;
+		/** ユーザー毎 */
+		private final ExportUser user = new ExportUser();
+		/** 結果の保持期間 */
+		@DurationUnit(ChronoUnit.MILLIS)
+		private Duration expire = Duration.ZERO;
+		/** 作成ファイル格納場所 */
+		private String dir;
+
+	}
+
+	/**
+	 * ユーザー毎のエクスポートジョブの設定値
+	 */
+	@Data
+	public static class ExportUser {
+
+		/** 同時受付件数 */
+		private int limit;
+
+	}
+
+}
@@ -29,4 +29,22 @@ public class StringUtil {
 		return count;
 	}
 
+	/**
+	 * CSV出力用に値をエスケープ<br>
+	 * カンマ、ダブルクォート、改行を含む場合はダブルクォートで囲む
+	 * 
+	 * @param value
+	 * @return CSVの項目値
+	 */
+	public static String toCsvValue(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+				&& value.indexOf('\r') < 0) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
 }
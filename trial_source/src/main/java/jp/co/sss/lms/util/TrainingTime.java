@@ -404,7 +404,7 @@ public class TrainingTime implements Comparable<TrainingTime>, Serializable {
 			// 元のフォーマットに戻す
 			String strTotalMin = String.valueOf(totalMin);
 			if (strTotalMin.length() < 4) {
-				StringBuffer sb = new StringBuffer();
+				StringBuilder sb = new StringBuilder();
 				sb.append("0");
 				sb.append(strTotalMin);
 				chinginTime = sb.toString();
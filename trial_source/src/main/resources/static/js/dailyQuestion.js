@@ -0,0 +1,58 @@
+/**
+ * 今日の一問
+ * 
+ * @author 東京ITスクール
+ */
+$(function(){
+	$.ajax({
+		url: '/lms/dailyQuestion',
+		async: true,
+		dataType: 'json',
+		success: function(dailyQuestionDto) {
+			if (dailyQuestionDto.questionId == null) {
+				return;
+			}
+			$('#daily-question-text').text(dailyQuestionDto.question);
+			for (let i = 1; i <= 4; i++) {
+				$('.daily-question-choice[data-choice=' + i + ']').text(dailyQuestionDto['choice' + i]);
+			}
+			$('#daily-question').removeClass('dn');
+			$.ajax({
+				url: '/lms/dailyQuestion/result',
+				async: true,
+				dataType: 'json',
+				success: showDailyQuestionResult
+			});
+		}
+	});
+
+	$('.daily-question-reply').click(function() {
+		$.ajax({
+			url: '/lms/dailyQuestion/reply',
+			type: 'POST',
+			async: true,
+			data: { reply: $(this).val() },
+			dataType: 'json',
+			success: showDailyQuestionResult
+		});
+	});
+});
+
+/**
+ * 回答状況の表示（回答済の場合のみ）
+ * 
+ * @param dailyQuestionResultDto
+ */
+function showDailyQuestionResult(dailyQuestionResultDto) {
+	if (dailyQuestionResultDto.reply == null) {
+		return;
+	}
+	$('.daily-question-reply').prop('disabled', true);
+	$('.daily-question-reply[value=' + dailyQuestionResultDto.reply + ']')
+		.removeClass('btn-default').addClass('btn-primary');
+	for (let i = 1; i <= 4; i++) {
+		$('.daily-question-count[data-choice=' + i + ']')
+			.text(dailyQuestionResultDto.replyCountArray[i - 1] + '人');
+	}
+	$('#daily-question-total').text('回答数：' + dailyQuestionResultDto.totalCount + '人');
+}
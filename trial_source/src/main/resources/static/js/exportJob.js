@@ -0,0 +1,115 @@
+/**
+ * エクスポートジョブ<br>
+ * class="export-job" のフォームを非同期のファイル作成として受け付け、
+ * 作成完了まで状態を確認してからダウンロードする。
+ * 
+ * @author 東京ITスクール
+ */
+$(function(){
+	$('form.export-job').submit(function(e) {
+		e.preventDefault();
+		const form = $(this);
+		form.find('input[type=submit]').prop('disabled', true);
+		$.ajax({
+			url: form.attr('action'),
+			type: 'POST',
+			async: true,
+			data: form.serialize(),
+			dataType: 'json',
+			success: function(exportJobDto) {
+				showExportJobStatus(form, exportJobDto);
+			},
+			error: function() {
+				showExportJobError(form);
+			}
+		});
+	});
+
+	$('form.export-job .export-job-cancel').click(function() {
+		const form = $(this).closest('form');
+		$.ajax({
+			url: '/lms/exportJob/cancel',
+			type: 'POST',
+			async: true,
+			data: { jobId: form.data('jobId') },
+			dataType: 'json',
+			success: function(exportJobDto) {
+				showExportJobStatus(form, exportJobDto);
+			}
+		});
+	});
+});
+
+/** 状態確認の間隔（ミリ秒） */
+const EXPORT_JOB_POLLING_INTERVAL = 2000;
+
+/**
+ * ジョブ状態の表示<br>
+ * 待機中・実行中の場合は一定間隔で状態を確認し、作成完了後にダウンロードする。
+ * 
+ * @param form
+ * @param exportJobDto
+ */
+function showExportJobStatus(form, exportJobDto) {
+	const status = form.find('.export-job-status');
+	const cancel = form.find('.export-job-cancel');
+	if (exportJobDto == null) {
+		showExportJobError(form);
+		return;
+	}
+	switch (exportJobDto.status) {
+	case 'wait':
+	case 'running':
+		form.data('jobId', exportJobDto.jobId);
+		status.text(exportJobDto.status == 'wait' ? '作成待ち…' : '作成中…');
+		cancel.removeClass('dn');
+		setTimeout(function() {
+			if (form.data('jobId') != exportJobDto.jobId) {
+				return;
+			}
+			$.ajax({
+				url: '/lms/exportJob/status',
+				async: true,
+				data: { jobId: exportJobDto.jobId },
+				dataType: 'json',
+				success: function(currentDto) {
+					showExportJobStatus(form, currentDto);
+				},
+				error: function() {
+					showExportJobError(form);
+				}
+			});
+		}, EXPORT_JOB_POLLING_INTERVAL);
+		return;
+	case 'complete':
+		status.text('');
+		$('<form method="post" class="dn"></form>').attr('action', '/lms/exportJob/download')
+			.append($('<input type="hidden" name="jobId" />').val(exportJobDto.jobId))
+			.appendTo('body').submit().remove();
+		break;
+	case 'rejected':
+		status.text(exportJobDto.message);
+		break;
+	case 'canceled':
+		status.text('取り消しました。');
+		break;
+	default:
+		status.text('作成に失敗しました。');
+		break;
+	}
+	form.removeData('jobId');
+	cancel.addClass('dn');
+	form.find('input[type=submit]').prop('disabled', false);
+}
+
+/**
+ * 通信エラーの表示
+ * 
+ * @param form
+ */
+function showExportJobError(form) {
+	form.find('.export-job-status').text('作成に失敗しました。');
+	form.removeData('jobId');
+	form.find('.export-job-cancel').addClass('dn');
+	form.find('input[type=submit]').prop('disabled', false);
+}
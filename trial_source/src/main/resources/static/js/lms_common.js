@@ -148,7 +148,6 @@ $(function(){
           async : true,
           contentType : "application/json",
           dataType : "json",
-          cache : false,
           success: function (infoDto) {
                 isInfoOver = true;
                 const message = infoDto.content == '' ? '<strong>* 現在お知らせはありません</strong>' : infoDto.content.replaceAll('\n', '<br />');
@@ -0,0 +1,107 @@
+package jp.co.sss.lms.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import jp.co.sss.lms.entity.LoginUser;
+
+/**
+ * JUnitによる機能試験(ホワイトボックステスト)<br>
+ * LoginUserDtoの独自形式のシリアライズを試験する。<br>
+ *
+ * */
+public class LoginUserDtoTest {
+
+	/**
+	 * Case.1_1 LoginUserDto試験 シリアライズ_全項目設定<br>
+	 * <br>
+	 * ■対象メソッド：writeObject(), readObject()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・ログインユーザーエンティティから設定し、パスワードNG回数・時刻も設定<br>
+	 * ■試験観点：<br>
+	 * 　・セッションに保持する全項目が復元されること<br>
+	 * 　・表示用の情報（ユーザー名等）は復元されないこと<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_1() throws Exception {
+		LoginUser loginUser = new LoginUser();
+		loginUser.setAccountId(1);
+		loginUser.setUserId(100);
+		loginUser.setLmsUserId(10);
+		loginUser.setUserName("山田太郎");
+		loginUser.setRole("0001");
+		loginUser.setCompanyId(2);
+		loginUser.setPlaceId(3);
+		loginUser.setHiddenFlg((short) 1);
+		loginUser.setCourseId(7);
+		loginUser.setSecurityAgreeFlg((short) 1);
+		loginUser.setPasswordChangeDate(new Date(1700000000000L));
+		loginUser.setLeaveFlg(0);
+		loginUser.setLeaveDate(new Date(1800000000000L));
+		loginUser.setFileShareFlg((short) 1);
+		LoginUserDto expected = new LoginUserDto();
+		expected.copyFrom(loginUser);
+		expected.setPasswordNgCount(2);
+		expected.setPasswordNgDate("2026/04/01 10:00:00");
+
+		LoginUserDto actual = roundTrip(expected);
+
+		assertEquals(expected, actual);
+		assertEquals(Integer.valueOf(10), actual.getLmsUserId());
+		assertEquals(new Date(1700000000000L), actual.getPasswordChangeDate());
+		assertEquals("2026/04/01 10:00:00", actual.getPasswordNgDate());
+		assertEquals("山田太郎", expected.getUserName());
+		assertNull(actual.getLoginUser());
+		assertNull(actual.getUserName());
+	}
+
+	/**
+	 * Case.1_2 LoginUserDto試験 シリアライズ_未ログイン<br>
+	 * <br>
+	 * ■対象メソッド：writeObject(), readObject()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・全項目未設定<br>
+	 * ■試験観点：<br>
+	 * 　・全項目がnullのまま復元されること<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_2() throws Exception {
+		LoginUserDto actual = roundTrip(new LoginUserDto());
+
+		assertEquals(new LoginUserDto(), actual);
+		assertNull(actual.getLmsUserId());
+		assertNull(actual.getPasswordChangeDate());
+		assertNull(actual.getPasswordNgDate());
+	}
+
+	/**
+	 * シリアライズしてデシリアライズする
+	 *
+	 * @param loginUserDto
+	 * @return 復元したログイン情報DTO
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	private LoginUserDto roundTrip(LoginUserDto loginUserDto)
+			throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			oos.writeObject(loginUserDto);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(
+				new ByteArrayInputStream(out.toByteArray()))) {
+			return (LoginUserDto) ois.readObject();
+		}
+	}
+
+}
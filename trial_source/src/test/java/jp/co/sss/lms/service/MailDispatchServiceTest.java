@@ -0,0 +1,228 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.entity.TMailQue;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.MailUtil;
+import jp.co.sss.lms.util.SettingProperties;
+
+/**
+ * JUnitによる機能試験(ホワイトボックステスト)<br>
+ * MailDispatchServiceの送信結果の反映と送信キューの解放を試験する。<br>
+ * SMTP送信とDB更新はモックに置き換える。<br>
+ *
+ * */
+public class MailDispatchServiceTest {
+
+	@Mock
+	private MailService mailService;
+	@Mock
+	private MailUtil mailUtil;
+
+	@InjectMocks
+	private MailDispatchService mailDispatchService;
+
+	@BeforeEach
+	public void setup() {
+		MockitoAnnotations.openMocks(this);
+		SettingProperties settingProperties = new SettingProperties();
+		settingProperties.getMail().getSend().setFlg(Constants.DB_FLG_TRUE);
+		settingProperties.getMail().getFail().getNotification().setPeriod(3);
+		settingProperties.getMail().getBatch().setSize(50);
+		settingProperties.getMail().getLock().setTimeout(Duration.ofSeconds(600));
+		settingProperties.getMail().getRetry().setInterval(Duration.ofSeconds(60));
+		settingProperties.getMail().getRetry().getMax().setInterval(Duration.ofSeconds(3600));
+		ReflectionTestUtils.setField(mailDispatchService, "settingProperties", settingProperties);
+
+		when(mailUtil.createMail(any(), any(), any(), any(), any()))
+				.thenAnswer(invocation -> new SimpleMailMessage());
+	}
+
+	/**
+	 * Case.1_1 メール送信キュー配信試験 同一内容のメールの送信<br>
+	 * <br>
+	 * ■対象メソッド：dispatch()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・送信キュー：宛先・件名・本文が同一のメール3件<br>
+	 * 　・送信結果：全件成功<br>
+	 * ■試験観点：<br>
+	 * 　・3件とも送信済となり、送信日時が設定されること<br>
+	 * 　・送信結果の更新が3件とも行われること<br>
+	 * 　・送信キューの解放が行われないこと<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_1() {
+		List<TMailQue> tMailQueList = createMailQueList(1, 2, 3);
+		when(mailService.lockMailQue(anyInt(), anyLong())).thenReturn(tMailQueList);
+		when(mailUtil.sendMail(anyList(), anyLong()))
+				.thenReturn(Arrays.asList(null, null, null));
+
+		mailDispatchService.dispatch();
+
+		for (TMailQue tMailQue : tMailQueList) {
+			assertEquals(Constants.CODE_VAL_MAIL_SEND_STATUS_SENT, tMailQue.getSendStatus());
+			assertNotNull(tMailQue.getSendDate());
+			verify(mailService).updateSendResult(tMailQue);
+		}
+		verify(mailService, never()).unlockMailQue(anyList());
+	}
+
+	/**
+	 * Case.1_2 メール送信キュー配信試験 送信失敗<br>
+	 * <br>
+	 * ■対象メソッド：dispatch()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・送信キュー：1件（失敗回数：未設定）<br>
+	 * 　・送信結果：失敗<br>
+	 * 　・再送の待ち時間：60秒<br>
+	 * ■試験観点：<br>
+	 * 　・失敗回数が1になること<br>
+	 * 　・送信待ちのまま、次回送信日時が60秒後に設定されること<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_2() {
+		List<TMailQue> tMailQueList = createMailQueList(1);
+		when(mailService.lockMailQue(anyInt(), anyLong())).thenReturn(tMailQueList);
+		when(mailUtil.sendMail(anyList(), anyLong()))
+				.thenReturn(Collections.singletonList(new RuntimeException("送信失敗")));
+
+		long before = System.currentTimeMillis();
+		mailDispatchService.dispatch();
+		long after = System.currentTimeMillis();
+
+		TMailQue tMailQue = tMailQueList.get(0);
+		assertEquals(1, tMailQue.getRetryCount());
+		assertEquals(Constants.CODE_VAL_MAIL_SEND_STATUS_WAIT, tMailQue.getSendStatus());
+		assertNull(tMailQue.getSendDate());
+		long nextSendTime = tMailQue.getNextSendDate().getTime();
+		assertTrue(nextSendTime >= before + 60_000 && nextSendTime <= after + 60_000);
+		verify(mailService).updateSendResult(tMailQue);
+	}
+
+	/**
+	 * Case.1_3 メール送信キュー配信試験 再送の待ち時間の延長<br>
+	 * <br>
+	 * ■対象メソッド：dispatch()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・送信キュー：1件（失敗回数：1）<br>
+	 * 　・送信結果：失敗<br>
+	 * ■試験観点：<br>
+	 * 　・失敗回数が2になること<br>
+	 * 　・次回送信日時が再送の待ち時間の2倍（120秒）後に設定されること<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_3() {
+		List<TMailQue> tMailQueList = createMailQueList(1);
+		tMailQueList.get(0).setRetryCount(1);
+		when(mailService.lockMailQue(anyInt(), anyLong())).thenReturn(tMailQueList);
+		when(mailUtil.sendMail(anyList(), anyLong()))
+				.thenReturn(Collections.singletonList(new RuntimeException("送信失敗")));
+
+		long before = System.currentTimeMillis();
+		mailDispatchService.dispatch();
+		long after = System.currentTimeMillis();
+
+		TMailQue tMailQue = tMailQueList.get(0);
+		assertEquals(2, tMailQue.getRetryCount());
+		assertEquals(Constants.CODE_VAL_MAIL_SEND_STATUS_WAIT, tMailQue.getSendStatus());
+		long nextSendTime = tMailQue.getNextSendDate().getTime();
+		assertTrue(nextSendTime >= before + 120_000 && nextSendTime <= after + 120_000);
+	}
+
+	/**
+	 * Case.1_4 メール送信キュー配信試験 送信失敗の上限<br>
+	 * <br>
+	 * ■対象メソッド：dispatch()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・送信キュー：1件（失敗回数：2）<br>
+	 * 　・送信結果：失敗<br>
+	 * 　・送信失敗通知の期間：3回<br>
+	 * ■試験観点：<br>
+	 * 　・送信失敗となり、次回送信日時が設定されないこと<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_4() {
+		List<TMailQue> tMailQueList = createMailQueList(1);
+		tMailQueList.get(0).setRetryCount(2);
+		when(mailService.lockMailQue(anyInt(), anyLong())).thenReturn(tMailQueList);
+		when(mailUtil.sendMail(anyList(), anyLong()))
+				.thenReturn(Collections.singletonList(new RuntimeException("送信失敗")));
+
+		mailDispatchService.dispatch();
+
+		TMailQue tMailQue = tMailQueList.get(0);
+		assertEquals(3, tMailQue.getRetryCount());
+		assertEquals(Constants.CODE_VAL_MAIL_SEND_STATUS_FAILED, tMailQue.getSendStatus());
+		assertNull(tMailQue.getNextSendDate());
+		verify(mailService).updateSendResult(tMailQue);
+	}
+
+	/**
+	 * Case.1_5 メール送信キュー配信試験 送信期限切れ<br>
+	 * <br>
+	 * ■対象メソッド：dispatch()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・送信キュー：3件<br>
+	 * 　・送信結果：送信期限までに1件目のみ送信<br>
+	 * ■試験観点：<br>
+	 * 　・1件目が送信済となること<br>
+	 * 　・送信しなかった2件目と3件目は送信結果を更新せずに解放されること<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_5() {
+		List<TMailQue> tMailQueList = createMailQueList(1, 2, 3);
+		when(mailService.lockMailQue(anyInt(), anyLong())).thenReturn(tMailQueList);
+		when(mailUtil.sendMail(anyList(), anyLong())).thenReturn(Collections.singletonList(null));
+
+		mailDispatchService.dispatch();
+
+		assertEquals(Constants.CODE_VAL_MAIL_SEND_STATUS_SENT, tMailQueList.get(0).getSendStatus());
+		verify(mailService).updateSendResult(tMailQueList.get(0));
+		verify(mailService, never()).updateSendResult(tMailQueList.get(1));
+		verify(mailService, never()).updateSendResult(tMailQueList.get(2));
+		verify(mailService).unlockMailQue(List.of(2, 3));
+	}
+
+	/**
+	 * 宛先・件名・本文が同一の送信待ちのメール送信キューを作成する
+	 *
+	 * @param mailQueIds メール送信キューID
+	 * @return メール送信キューのリスト
+	 */
+	private List<TMailQue> createMailQueList(Integer... mailQueIds) {
+		List<TMailQue> tMailQueList = new ArrayList<>();
+		for (Integer mailQueId : mailQueIds) {
+			TMailQue tMailQue = new TMailQue();
+			tMailQue.setMailQueId(mailQueId);
+			tMailQue.setMailAddressTo("test@example.com");
+			tMailQue.setSubject("件名");
+			tMailQue.setBody("本文");
+			tMailQue.setSendStatus(Constants.CODE_VAL_MAIL_SEND_STATUS_WAIT);
+			tMailQueList.add(tMailQue);
+		}
+		return tMailQueList;
+	}
+
+}
@@ -0,0 +1,104 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnitによる機能試験(ホワイトボックステスト)<br>
+ * ExcelUtilのストリーミングモードを試験する。<br>
+ * ヒープ使用量の比較はloadtest/ExcelHeapBenchmark.javaで行う。<br>
+ *
+ * */
+public class ExcelUtilTest {
+
+	/** 週報テンプレート */
+	private static final String TEMPLATE = "static/template/週報_テンプレート.xlsx";
+	/** フィードバックコメントのシート */
+	private static final String FB_SHEET = "フィードバックコメント";
+	/** フィードバックコメント件数（1件2行で1,000行） */
+	private static final int FB_COUNT = 500;
+	/** メモリ上に保持する行数 */
+	private static final int ROW_WINDOW = 100;
+
+	/**
+	 * Case.1_1 ExcelUtil試験 ストリーミングモード_追加行の書き出し<br>
+	 * <br>
+	 * ■対象メソッド：ExcelUtil(Workbook, int), sheetCopy(), SheetWriter.setVal()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・テンプレート：週報<br>
+	 * 　・フィードバックコメント：500件（1,000行）<br>
+	 * ■試験観点：<br>
+	 * 　・テンプレート内の行と追加行の両方に値が設定されていること<br>
+	 * 　・結合はコピー元の範囲の分だけ追加されること<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_1() throws IOException {
+
+		// コピー元の範囲（6～7行目）の結合数を取得
+		ExcelUtil template = new ExcelUtil(TEMPLATE);
+		Sheet templateSheet = template.getWb().getSheet(FB_SHEET);
+		int templateMerged = templateSheet.getNumMergedRegions();
+		int blockMerged = 0;
+		for (int i = 0; i < templateMerged; i++) {
+			if (templateSheet.getMergedRegion(i).getFirstRow() >= 6
+					&& templateSheet.getMergedRegion(i).getLastRow() < 8) {
+				blockMerged++;
+			}
+		}
+
+		// 試験実行
+		ExcelUtil excelUtil = new ExcelUtil(new ExcelUtil(TEMPLATE).getWb(), ROW_WINDOW);
+		writeFeedback(excelUtil);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			excelUtil.getWb().write(out);
+		} finally {
+			excelUtil.dispose();
+		}
+
+		// 検証処理
+		Workbook actual = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+		Sheet sheet = actual.getSheet(FB_SHEET);
+		for (int i : new int[] { 0, 1, 19, 20, 21, FB_COUNT - 1 }) {
+			assertEquals("user" + i, sheet.getRow(6 + i * 2).getCell(0).getStringCellValue());
+			assertEquals("content" + i, sheet.getRow(7 + i * 2).getCell(10).getStringCellValue());
+		}
+		assertEquals(templateMerged + blockMerged * (FB_COUNT - 1), sheet.getNumMergedRegions());
+	}
+
+	/**
+	 * フィードバックコメントの書き込み（ReportServiceと同じ順序）
+	 *
+	 * @param excelUtil
+	 */
+	private void writeFeedback(ExcelUtil excelUtil) {
+		ExcelUtil.SheetWriter fbWriter = excelUtil.getSheetWriter(FB_SHEET);
+		for (int i = 1; i < FB_COUNT; i++) {
+			excelUtil.sheetCopy(FB_SHEET, 6, 8, i);
+			setFeedback(fbWriter, i);
+		}
+		setFeedback(fbWriter, 0);
+	}
+
+	/**
+	 * フィードバックコメント欄の設定
+	 *
+	 * @param fbWriter
+	 * @param index
+	 */
+	private void setFeedback(ExcelUtil.SheetWriter fbWriter, int index) {
+		fbWriter.row(6 + (index * 2)).setVal(0, "user" + index).setVal(17, new Date());
+		fbWriter.nextRow().setVal(10, "content" + index);
+	}
+
+}
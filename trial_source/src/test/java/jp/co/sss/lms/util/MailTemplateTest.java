@@ -0,0 +1,99 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnitによる機能試験(ホワイトボックステスト)<br>
+ * MailTemplateの埋め込み文字の解析と置き換えを試験する。<br>
+ *
+ * */
+public class MailTemplateTest {
+
+	/**
+	 * Case.1_1 MailTemplate試験 埋め込み文字の置き換え<br>
+	 * <br>
+	 * ■対象メソッド：compile(), render()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・テンプレート：先頭・途中・末尾・連続した埋め込み文字を含む<br>
+	 * ■試験観点：<br>
+	 * 　・全ての埋め込み文字が値に置き換わること<br>
+	 * 　・固定文字列はそのまま残ること<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_1() {
+		MailTemplate mailTemplate = MailTemplate
+				.compile(":userName:様\r\n:courseName:の:date::time:に開始します。\r\n:signature:");
+
+		String actual = mailTemplate.render(Map.of("userName", "山田太郎", "courseName", "Javaコース",
+				"date", "4月1日", "time", "9時", "signature", "東京ITスクール"));
+
+		assertEquals("山田太郎様\r\nJavaコースの4月1日9時に開始します。\r\n東京ITスクール", actual);
+	}
+
+	/**
+	 * Case.1_2 MailTemplate試験 時刻表記の扱い<br>
+	 * <br>
+	 * ■対象メソッド：compile(), render()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・テンプレート：「10:00:00」と埋め込み文字を含む<br>
+	 * ■試験観点：<br>
+	 * 　・数字で始まる「:00:」は埋め込み文字として扱われないこと<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_2() {
+		MailTemplate mailTemplate = MailTemplate.compile("開始時刻は10:00:00です。:userName:様");
+
+		String actual = mailTemplate.render(Map.of("userName", "山田太郎", "00", "置換"));
+
+		assertEquals("開始時刻は10:00:00です。山田太郎様", actual);
+	}
+
+	/**
+	 * Case.1_3 MailTemplate試験 値のない埋め込み文字<br>
+	 * <br>
+	 * ■対象メソッド：compile(), render()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・テンプレート：値を渡さない埋め込み文字を含む<br>
+	 * 　・値：埋め込み文字の形式や正規表現の置換記号を含む<br>
+	 * ■試験観点：<br>
+	 * 　・値のない埋め込み文字はそのまま残ること<br>
+	 * 　・値に含まれる文字は置き換えや解釈をされないこと<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_3() {
+		MailTemplate mailTemplate = MailTemplate.compile(":userName:様 :unknown: :password:");
+
+		String actual = mailTemplate.render(Map.of("userName", ":password:", "password", "$1\\a"));
+
+		assertEquals(":password:様 :unknown: $1\\a", actual);
+	}
+
+	/**
+	 * Case.1_4 MailTemplate試験 一括置き換え<br>
+	 * <br>
+	 * ■対象メソッド：renderAll()<br>
+	 * ■試験パラメータ：<br>
+	 * 　・宛先：3件<br>
+	 * ■試験観点：<br>
+	 * 　・宛先毎に置き換えられ、引数と同じ順序で返却されること<br>
+	 *
+	 * */
+	@Test
+	public void testCase1_4() {
+		MailTemplate mailTemplate = MailTemplate.compile(":userName:様");
+
+		List<String> actual = mailTemplate.renderAll(List.of(Map.of("userName", "A"),
+				Map.of("userName", "B"), Map.of()));
+
+		assertEquals(List.of("A様", "B様", ":userName:様"), actual);
+	}
+
+}